@@ -0,0 +1,19 @@
+#!/usr/bin/env bash
+set -euo pipefail
+
+# Usage: ./run.sh [JMH options...], e.g. ./run.sh JsonBenchmark -prof gc
+BENCH_DIR=$(cd "$(dirname "$0")" && pwd)
+TARGET_DIR="$BENCH_DIR/target"
+
+mvn -B -q -f "$BENCH_DIR/pom.xml" package
+
+java -jar "$TARGET_DIR/benchmarks.jar" -rf json -rff "$TARGET_DIR/jmh-result.json" "$@"
+
+if [ ! -f "$BENCH_DIR/baseline.json" ]; then
+  echo "No baseline.json; copy $TARGET_DIR/jmh-result.json there from a full run on the reference machine."
+  exit 0
+fi
+
+# REPORT_OPTS, e.g. "-Dattendance.bench.threshold=5 -Dattendance.bench.failOnRegression=true"
+java ${REPORT_OPTS:-} -cp "$TARGET_DIR/benchmarks.jar" com.example.attendance.BaselineReport \
+  "$BENCH_DIR/baseline.json" "$TARGET_DIR/jmh-result.json" "$TARGET_DIR/jmh-report.md"
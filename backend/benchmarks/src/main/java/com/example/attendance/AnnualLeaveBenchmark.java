@@ -0,0 +1,98 @@
+package com.example.attendance;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Annual leave balances on a seeded database: the cached per-employee lookup, the same lookup with its cache
+ * entry dropped, and the bulk calculation. The accrual benchmarks compare the closed-form
+ * {@link AnnualLeaveAccrual} with the month-by-month {@link LegacyAccrual} over a spread of hire dates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnnualLeaveBenchmark {
+    private static final int EMPLOYEES = 1000;
+
+    private SeededDatabase seeded;
+    private EmployeeService employeeService;
+    private LocalDate[] hireDates;
+    private LocalDate leaveYearStart;
+    private int leaveYearStartMonth;
+    private long nextEmployee;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        seeded = SeededDatabase.create(EMPLOYEES, 10);
+        employeeService = new EmployeeService(seeded.database());
+        List<EmployeeService.Employee> employees = employeeService.listEmployees();
+        hireDates = employees.stream().map(EmployeeService.Employee::hireDate).toArray(LocalDate[]::new);
+        leaveYearStart = AnnualLeaveCache.leaveYearStart(LocalDate.now());
+        leaveYearStartMonth = AnnualLeaveAccrual.epochMonth(leaveYearStart.getYear(), leaveYearStart.getMonthValue());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        seeded.close();
+    }
+
+    @Benchmark
+    public EmployeeService.AnnualLeaveSummary calculateAnnualLeaveCached() {
+        return employeeService.calculateAnnualLeave(nextEmployeeId());
+    }
+
+    @Benchmark
+    public EmployeeService.AnnualLeaveSummary calculateAnnualLeaveUncached() {
+        long id = nextEmployeeId();
+        employeeService.invalidateAnnualLeave(id);
+        return employeeService.calculateAnnualLeave(id);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<EmployeeService.EmployeeAnnualLeave> calculateAnnualLeaveForAll() {
+        return employeeService.calculateAnnualLeaveForAll(null);
+    }
+
+    @Benchmark
+    public double accrualClosedForm() {
+        double total = 0;
+        for (LocalDate hireDate : hireDates) {
+            total += AnnualLeaveAccrual.totalQuotaDays(
+                    AnnualLeaveAccrual.epochMonth(hireDate.getYear(), hireDate.getMonthValue()),
+                    hireDate.getDayOfMonth(), leaveYearStartMonth);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double accrualLegacyLoop() {
+        double total = 0;
+        for (LocalDate hireDate : hireDates) {
+            total += LegacyAccrual.totalQuotaDays(hireDate, leaveYearStart);
+        }
+        return total;
+    }
+
+    private long nextEmployeeId() {
+        nextEmployee = nextEmployee % EMPLOYEES + 1;
+        return nextEmployee;
+    }
+}
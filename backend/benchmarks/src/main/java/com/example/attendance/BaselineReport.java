@@ -0,0 +1,148 @@
+package com.example.attendance;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result file with a stored baseline and prints a Markdown table of the changes.
+ *
+ * <p>Usage: {@code BaselineReport <baseline.json> <result.json> [report.md]}. A change is flagged when the score
+ * moves by more than {@code attendance.bench.threshold} percent (default 10) in the worse direction, or when the
+ * normalized allocation per operation does. With {@code attendance.bench.failOnRegression=true} the exit status
+ * is 1 if anything was flagged.
+ */
+public final class BaselineReport {
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+    private static final List<String> PERCENTILES = List.of("50.0", "99.0");
+
+    private BaselineReport() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Usage: BaselineReport <baseline.json> <result.json> [report.md]");
+            System.exit(2);
+        }
+        double threshold = Double.parseDouble(System.getProperty("attendance.bench.threshold", "10"));
+        Map<String, Result> baseline = load(Path.of(args[0]));
+        Map<String, Result> current = load(Path.of(args[1]));
+        List<String> lines = new ArrayList<>();
+        lines.add("| Benchmark | Mode | Baseline | Current | Unit | Change | Alloc B/op | |");
+        lines.add("|---|---|---:|---:|---|---:|---:|---|");
+        int regressions = 0;
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result now = entry.getValue();
+            Result before = baseline.get(entry.getKey());
+            if (before == null) {
+                lines.add(row(entry.getKey(), now.mode, "-", format(now.score), now.unit, "-",
+                        allocation(null, now), "new"));
+                continue;
+            }
+            double change = percentChange(before.score, now.score);
+            boolean worse = now.higherIsBetter() ? change < -threshold : change > threshold;
+            boolean better = now.higherIsBetter() ? change > threshold : change < -threshold;
+            boolean moreAllocation = before.allocation != null && now.allocation != null
+                    && percentChange(before.allocation, now.allocation) > threshold
+                    && now.allocation - before.allocation >= 16;
+            String status = worse || moreAllocation ? "REGRESSION" : better ? "improved" : "";
+            if (worse || moreAllocation) {
+                regressions++;
+            }
+            lines.add(row(entry.getKey(), now.mode, format(before.score), format(now.score), now.unit,
+                    String.format(Locale.ROOT, "%+.1f%%", change), allocation(before, now), status));
+        }
+        for (Map.Entry<String, Result> entry : baseline.entrySet()) {
+            if (!current.containsKey(entry.getKey())) {
+                Result before = entry.getValue();
+                lines.add(row(entry.getKey(), before.mode, format(before.score), "-", before.unit, "-", "-",
+                        "missing"));
+            }
+        }
+        lines.add("");
+        lines.add(String.format(Locale.ROOT, "%d regression(s) beyond %.0f%%.", regressions, threshold));
+        String report = String.join(System.lineSeparator(), lines) + System.lineSeparator();
+        System.out.print(report);
+        if (args.length == 3) {
+            Files.writeString(Path.of(args[2]), report, StandardCharsets.UTF_8);
+        }
+        if (regressions > 0 && Boolean.getBoolean("attendance.bench.failOnRegression")) {
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Result> load(Path file) throws IOException {
+        Map<String, Result> results = new TreeMap<>();
+        JsonReader reader = JsonReader.of(Files.readAllBytes(file));
+        Object document = reader.readValue();
+        reader.endDocument();
+        if (!(document instanceof List<?> runs)) {
+            throw new IllegalArgumentException(file + " is not a JMH JSON result file");
+        }
+        for (Object run : runs) {
+            Map<?, ?> fields = (Map<?, ?>) run;
+            String name = fields.get("benchmark").toString().replace("com.example.attendance.", "");
+            if (fields.get("params") instanceof Map<?, ?> params && !params.isEmpty()) {
+                Map<String, String> sorted = new TreeMap<>();
+                params.forEach((key, value) -> sorted.put(key.toString(), value.toString()));
+                name = name + " " + sorted;
+            }
+            Map<?, ?> primary = (Map<?, ?>) fields.get("primaryMetric");
+            Double allocation = null;
+            if (fields.get("secondaryMetrics") instanceof Map<?, ?> secondary
+                    && secondary.get(ALLOCATION) instanceof Map<?, ?> metric) {
+                allocation = number(metric.get("score"));
+            }
+            String mode = fields.get("mode").toString();
+            String unit = primary.get("scoreUnit").toString();
+            results.put(name, new Result(mode, number(primary.get("score")), unit, allocation));
+            if ("sample".equals(mode) && primary.get("scorePercentiles") instanceof Map<?, ?> percentiles) {
+                for (String percentile : PERCENTILES) {
+                    if (percentiles.containsKey(percentile)) {
+                        results.put(name + " p" + percentile.substring(0, percentile.indexOf('.')),
+                                new Result(mode, number(percentiles.get(percentile)), unit, null));
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number number ? number.doubleValue() : Double.parseDouble(value.toString());
+    }
+
+    private static double percentChange(double before, double now) {
+        return before == 0 ? 0 : (now - before) / before * 100.0;
+    }
+
+    private static String allocation(Result before, Result now) {
+        if (now.allocation == null) {
+            return "-";
+        }
+        if (before == null || before.allocation == null) {
+            return format(now.allocation);
+        }
+        return format(before.allocation) + " → " + format(now.allocation);
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, value >= 100 ? "%.0f" : "%.3f", value);
+    }
+
+    private static String row(String... cells) {
+        return "| " + String.join(" | ", cells) + " |";
+    }
+
+    private record Result(String mode, double score, String unit, Double allocation) {
+        boolean higherIsBetter() {
+            return "thrpt".equals(mode);
+        }
+    }
+}
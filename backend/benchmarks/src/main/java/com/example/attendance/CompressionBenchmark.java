@@ -0,0 +1,100 @@
+package com.example.attendance;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Response compression cost by body size. Alongside operations per second, the {@code inputBytes} and
+ * {@code outputBytes} counters report bytes per second before and after encoding; their ratio is the share of
+ * the body that still goes over the wire.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompressionBenchmark {
+    @Param({"512", "4096", "65536"})
+    public int size;
+
+    @Param({"GZIP", "DEFLATE"})
+    public String encoding;
+
+    @Param({"6"})
+    public int level;
+
+    private ContentEncoding contentEncoding;
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        contentEncoding = ContentEncoding.valueOf(encoding);
+        List<EmployeeService.Employee> employees = new ArrayList<>();
+        byte[] json;
+        do {
+            for (int i = employees.size(), end = i + 64; i < end; i++) {
+                employees.add(new EmployeeService.Employee(i + 1, SeededDatabase.chineseName(i),
+                        SeededDatabase.englishName(i), LocalDate.of(2015, 1, 1).plusDays(i * 17L)));
+            }
+            json = JsonWriter.toBytes(employees);
+        } while (json.length < size);
+        body = Arrays.copyOf(json, size);
+    }
+
+    @Benchmark
+    public void encode(Bytes bytes) throws IOException {
+        CountingOutputStream sink = new CountingOutputStream();
+        try (OutputStream out = contentEncoding.wrap(sink, level)) {
+            out.write(body);
+        }
+        bytes.inputBytes += body.length;
+        bytes.outputBytes += sink.count;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Bytes {
+        public long inputBytes;
+        public long outputBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            inputBytes = 0;
+            outputBytes = 0;
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            count += length;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.attendance;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reads against a seeded database of 10,000 employees and 100,000 leave requests: point queries, the first
+ * listing page, a deep page reached by offset and by keyset cursor, and full-text search. The
+ * {@code contention} group runs listing reads while a writer keeps inserting leave requests. The engine can be
+ * switched with {@code -p engine=CLI} where the sqlite3 command line tool is installed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DatabaseBenchmark {
+    private static final int EMPLOYEES = 10_000;
+    private static final int LEAVE_REQUESTS_PER_EMPLOYEE = 10;
+    private static final int PAGE_SIZE = 20;
+    private static final int DEEP_PAGE = 2_000;
+
+    @Param({"JDBC"})
+    public String engine;
+
+    private SeededDatabase seeded;
+    private Database database;
+    private LeaveRequestService leaveService;
+    private Map<String, String> firstPage;
+    private Map<String, String> deepOffsetPage;
+    private Map<String, String> deepCursorPage;
+    private Map<String, String> textSearch;
+    private long nextEmployee;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        seeded = SeededDatabase.create(EMPLOYEES, LEAVE_REQUESTS_PER_EMPLOYEE);
+        Database.Options defaults = Database.Options.fromSystemProperties();
+        database = seeded.reopen(new Database.Options(Database.EngineType.from(engine),
+                defaults.statementCacheSize(), defaults.readerConnections(), defaults.groupCommitMaxBatch(),
+                defaults.groupCommitMaxWaitMillis()));
+        leaveService = new LeaveRequestService(database, new EmployeeService(database));
+        firstPage = filters("size", String.valueOf(PAGE_SIZE), "withTotal", "false");
+        deepOffsetPage = filters("size", String.valueOf(PAGE_SIZE), "page", String.valueOf(DEEP_PAGE),
+                "withTotal", "false");
+        List<Map<String, String>> boundary = database.query("SELECT start_time, id FROM leave_request "
+                + "ORDER BY start_time DESC, id DESC LIMIT 1 OFFSET ?;", DEEP_PAGE * PAGE_SIZE - 1);
+        String cursor = new LeaveCursor(LocalDateTime.parse(boundary.get(0).get("start_time")),
+                Long.parseLong(boundary.get(0).get("id"))).encode();
+        deepCursorPage = filters("size", String.valueOf(PAGE_SIZE), "after", cursor, "withTotal", "false");
+        textSearch = filters("q", "alice", "size", String.valueOf(PAGE_SIZE), "withTotal", "false");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        seeded.close();
+    }
+
+    @Benchmark
+    public List<Map<String, String>> queryEmployeeById() {
+        return database.query("SELECT id, chinese_name, english_name, hire_date FROM employee WHERE id=?;",
+                nextEmployeeId());
+    }
+
+    @Benchmark
+    public List<Map<String, String>> queryLeaveHoursByEmployee() {
+        return database.query("SELECT type, SUM(hours) AS hours FROM leave_request WHERE employee_id=? "
+                + "GROUP BY type;", nextEmployeeId());
+    }
+
+    @Benchmark
+    public LeaveRequestService.PagedResult listFirstPage() {
+        return leaveService.listLeaveRequests(firstPage);
+    }
+
+    @Benchmark
+    public LeaveRequestService.PagedResult listDeepPageByOffset() {
+        return leaveService.listLeaveRequests(deepOffsetPage);
+    }
+
+    @Benchmark
+    public LeaveRequestService.PagedResult listDeepPageByCursor() {
+        return leaveService.listLeaveRequests(deepCursorPage);
+    }
+
+    @Benchmark
+    public LeaveRequestService.PagedResult fullTextSearch() {
+        return leaveService.listLeaveRequests(textSearch);
+    }
+
+    @Benchmark
+    @Group("contention")
+    @GroupThreads(3)
+    public LeaveRequestService.PagedResult contendedRead() {
+        return leaveService.listLeaveRequests(firstPage);
+    }
+
+    @Benchmark
+    @Group("contention")
+    @GroupThreads(1)
+    public long contendedWrite() {
+        LocalDateTime start = LocalDateTime.now().withNano(0);
+        return database.insert("INSERT INTO leave_request (employee_id, type, start_time, end_time, hours, created_at) "
+                + "VALUES (?,?,?,?,?,?) RETURNING id;", nextEmployeeId(), "PERSONAL", start, start.plusHours(1),
+                1.0, start);
+    }
+
+    private synchronized long nextEmployeeId() {
+        nextEmployee = nextEmployee % EMPLOYEES + 1;
+        return nextEmployee;
+    }
+
+    private static Map<String, String> filters(String... pairs) {
+        Map<String, String> filters = new HashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            filters.put(pairs[i], pairs[i + 1]);
+        }
+        return filters;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.attendance;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Name prefix search over an in-memory employee set through {@link PrefixIndex} versus scanning every name.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeSearchBenchmark {
+    @Param({"100000"})
+    public int employees;
+
+    @Param({"alice", "jack9999", "周杰9999"})
+    public String prefix;
+
+    private List<EmployeeService.Employee> all;
+    private PrefixIndex<EmployeeService.Employee> index;
+
+    @Setup
+    public void setUp() {
+        all = new ArrayList<>(employees);
+        for (int i = 0; i < employees; i++) {
+            all.add(new EmployeeService.Employee(i + 1, SeededDatabase.chineseName(i), SeededDatabase.englishName(i),
+                    LocalDate.of(2020, 1, 1)));
+        }
+        index = PrefixIndex.build(all, employee -> List.of(employee.englishName(), employee.chineseName()));
+    }
+
+    @Benchmark
+    public List<EmployeeService.Employee> prefixIndex() {
+        return index.search(prefix, EmployeeService.DEFAULT_SEARCH_LIMIT);
+    }
+
+    @Benchmark
+    public List<EmployeeService.Employee> linearScan() {
+        String needle = prefix.toLowerCase(Locale.ROOT);
+        List<EmployeeService.Employee> result = new ArrayList<>();
+        for (EmployeeService.Employee employee : all) {
+            if (employee.englishName().toLowerCase(Locale.ROOT).startsWith(needle)
+                    || employee.chineseName().startsWith(needle)) {
+                result.add(employee);
+                if (result.size() == EmployeeService.DEFAULT_SEARCH_LIMIT) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.attendance;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * End-to-end request latency through {@link HttpServerRunner} under 16 concurrent clients, per executor mode.
+ * Sample-time mode reports the p50/p90/p99 percentiles. {@code VIRTUAL} can be added with
+ * {@code -p mode=VIRTUAL} on Java 21.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+public class HttpServerBenchmark {
+    @Param({"CACHED", "BOUNDED"})
+    public String mode;
+
+    private SeededDatabase seeded;
+    private Path secretFile;
+    private HttpServerRunner server;
+    private HttpClient client;
+    private HttpRequest employees;
+    private HttpRequest leaveRequests;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        seeded = SeededDatabase.create(200, 20);
+        Database database = seeded.database();
+        secretFile = Files.createTempFile("attendance-bench", ".key");
+        Files.delete(secretFile);
+        TokenService tokenService = TokenService.load(secretFile);
+        EmployeeService employeeService = new EmployeeService(database);
+        HttpServerRunner.Options defaults = HttpServerRunner.Options.fromSystemProperties();
+        int port = freePort();
+        HttpServerRunner.Options options = new HttpServerRunner.Options(port, defaults.backlog(),
+                HttpServerRunner.ExecutionMode.from(mode), defaults.threads(), defaults.maxInFlight(),
+                defaults.retryAfterSeconds(), defaults.compressionMinBytes(), defaults.compressionLevel(),
+                defaults.maxBodyBytes());
+        server = new HttpServerRunner(options, database, new AuthService(database, new PasswordHasher(), tokenService),
+                employeeService, new LeaveRequestService(database, employeeService));
+        server.start();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        String authorization = "Bearer " + tokenService.generateToken("admin", "ADMIN", 3600);
+        employees = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/employees"))
+                .header("Authorization", authorization).build();
+        leaveRequests = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/leave-requests?size=20"))
+                .header("Authorization", authorization).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        server.stop();
+        seeded.close();
+        Files.deleteIfExists(secretFile);
+    }
+
+    @Benchmark
+    public int listEmployees() throws IOException, InterruptedException {
+        return send(employees);
+    }
+
+    @Benchmark
+    public int listLeaveRequests() throws IOException, InterruptedException {
+        return send(leaveRequests);
+    }
+
+    private int send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode());
+        }
+        return response.body().length;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
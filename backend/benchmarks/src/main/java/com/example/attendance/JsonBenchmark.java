@@ -0,0 +1,140 @@
+package com.example.attendance;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Serialization and parsing against the string-based {@link LegacyJson} baseline, plus a leave request listing
+ * page written from {@link LeaveRequestService.LeaveRequestItem} records versus the per-row maps the handlers
+ * used to build. Run with {@code -prof gc} to compare allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBenchmark {
+    @Param({"20", "200"})
+    public int rows;
+
+    private List<EmployeeService.Employee> employees;
+    private List<Map<String, Object>> employeeMaps;
+    private LeaveRequestService.PagedResult page;
+    private byte[] leaveRequestBody;
+
+    @Setup
+    public void setUp() {
+        employees = new ArrayList<>(rows);
+        employeeMaps = new ArrayList<>(rows);
+        List<LeaveRequestService.LeaveRequestItem> items = new ArrayList<>(rows);
+        LocalDateTime createdAt = LocalDateTime.of(2026, 4, 1, 8, 30, 15, 123_456_789);
+        for (int i = 0; i < rows; i++) {
+            EmployeeService.Employee employee = new EmployeeService.Employee(i + 1, SeededDatabase.chineseName(i),
+                    SeededDatabase.englishName(i), LocalDate.of(2015, 1, 1).plusDays(i * 17L));
+            employees.add(employee);
+            employeeMaps.add(employeeMap(employee));
+            LocalDateTime start = LocalDateTime.of(2026, 4, 6, 9, 0).plusDays(i);
+            items.add(new LeaveRequestService.LeaveRequestItem(i + 1, employee.chineseName(),
+                    employee.englishName(), LeaveRequestService.LeaveType.ANNUAL, start, start.plusHours(8), 8.0,
+                    createdAt));
+        }
+        page = new LeaveRequestService.PagedResult(items, 0, rows, 5000L, "MjAyNi0wNC0wNlQwOTowMHwx");
+        String leaveRequestText = "{\"englishName\":\"Alice12\",\"type\":\"ANNUAL\",\"startTime\":\"2026-05-04T09:00:00\","
+                + "\"endTime\":\"2026-05-04T17:00:00\",\"hours\":8,\"note\":\"家里有事 \\u2014 back Monday\"}";
+        leaveRequestBody = leaveRequestText.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] writeEmployeeMaps() {
+        return JsonWriter.toBytes(employeeMaps);
+    }
+
+    @Benchmark
+    public byte[] writeEmployeeRecords() {
+        return JsonWriter.toBytes(employees);
+    }
+
+    @Benchmark
+    public byte[] legacyWriteEmployeeMaps() {
+        return LegacyJson.toJson(employeeMaps).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] writeListingRecords() {
+        return JsonWriter.toBytes(page);
+    }
+
+    @Benchmark
+    public byte[] writeListingMaps() {
+        return JsonWriter.toBytes(listingMaps(page));
+    }
+
+    @Benchmark
+    public byte[] legacyWriteListingMaps() {
+        return LegacyJson.toJson(listingMaps(page)).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Map<String, Object> parseObject() {
+        JsonReader reader = JsonReader.of(leaveRequestBody);
+        Map<String, Object> result = reader.readObject();
+        reader.endDocument();
+        return result;
+    }
+
+    @Benchmark
+    public Map<String, Object> legacyParseObject() {
+        return LegacyJson.parseObject(new String(leaveRequestBody, StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, Object> employeeMap(EmployeeService.Employee employee) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("id", employee.id());
+        map.put("chineseName", employee.chineseName());
+        map.put("englishName", employee.englishName());
+        map.put("hireDate", employee.hireDate().toString());
+        return map;
+    }
+
+    private static Map<String, Object> listingMaps(LeaveRequestService.PagedResult result) {
+        List<Map<String, Object>> content = new ArrayList<>(result.content().size());
+        for (LeaveRequestService.LeaveRequestItem row : result.content()) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", row.id());
+            item.put("chineseName", row.chineseName());
+            item.put("englishName", row.englishName());
+            item.put("type", row.type().name());
+            item.put("startTime", row.startTime().toString());
+            item.put("endTime", row.endTime().toString());
+            item.put("hours", row.hours());
+            item.put("createdAt", row.createdAt().toString());
+            content.add(item);
+        }
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("content", content);
+        response.put("page", result.page());
+        response.put("size", result.size());
+        response.put("totalElements", result.totalElements());
+        response.put("nextCursor", result.nextCursor());
+        return response;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.attendance;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * The month-by-month accrual loop the services ran before {@link AnnualLeaveAccrual}, kept as the baseline for
+ * {@link AnnualLeaveBenchmark}.
+ */
+final class LegacyAccrual {
+    private LegacyAccrual() {
+    }
+
+    static double totalQuotaDays(LocalDate hireDate, LocalDate leaveYearStart) {
+        LocalDate leaveYearEnd = leaveYearStart.plusYears(1);
+
+        double monthlyAccrual = 1.0 / 12.0;
+        double baseMonthlyAccrual = 10.0 / 12.0;
+        double baseQuotaAccumulated = 0;
+        double monthlyAccrualAccumulated = 0;
+
+        YearMonth startMonth = YearMonth.from(leaveYearStart);
+        YearMonth endMonth = YearMonth.from(leaveYearEnd.minusMonths(1));
+        YearMonth current = startMonth;
+        while (!current.isAfter(endMonth)) {
+            LocalDate monthStartDate = current.atDay(1);
+            if (!monthStartDate.isBefore(hireDate)) {
+                long monthsSinceHire = monthsBetween(hireDate, monthStartDate);
+                if (monthsSinceHire >= 6 && baseQuotaAccumulated < 10.0) {
+                    double add = Math.min(10.0 - baseQuotaAccumulated, baseMonthlyAccrual);
+                    baseQuotaAccumulated += add;
+                }
+                monthlyAccrualAccumulated += monthlyAccrual;
+            }
+            current = current.plusMonths(1);
+        }
+        return baseQuotaAccumulated + monthlyAccrualAccumulated;
+    }
+
+    private static long monthsBetween(LocalDate startInclusive, LocalDate monthStart) {
+        YearMonth start = YearMonth.from(startInclusive.withDayOfMonth(1));
+        YearMonth end = YearMonth.from(monthStart.withDayOfMonth(1));
+        return (end.getYear() - start.getYear()) * 12L + (end.getMonthValue() - start.getMonthValue());
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.attendance;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The linear route scan {@link HttpServerRunner} used before {@link RouteTrie}, kept as the baseline for
+ * {@link RouteMatchingBenchmark}. Every lookup splits the request path and compares it against each route in
+ * registration order.
+ */
+final class LegacyRouteMatcher<T> {
+    private final List<Route<T>> routes = new ArrayList<>();
+
+    void add(String method, String pathPattern, T value) {
+        routes.add(new Route<>(method, pathPattern, value));
+    }
+
+    Match<T> find(String method, String path) {
+        for (Route<T> route : routes) {
+            if (route.matches(method, path)) {
+                return new Match<>(route.value, route.extractParams(path));
+            }
+        }
+        return null;
+    }
+
+    record Match<T>(T value, Map<String, String> params) {
+    }
+
+    private static final class Route<T> {
+        private final String method;
+        private final T value;
+        private final String[] segments;
+
+        Route(String method, String pathPattern, T value) {
+            this.method = method;
+            this.value = value;
+            this.segments = pathPattern.split("/");
+        }
+
+        boolean matches(String requestMethod, String requestPath) {
+            if (!method.equalsIgnoreCase(requestMethod)) {
+                return false;
+            }
+            String[] pathSegments = requestPath.split("/");
+            if (pathSegments.length != segments.length) {
+                return false;
+            }
+            for (int i = 0; i < segments.length; i++) {
+                if (segments[i].startsWith("{")) {
+                    continue;
+                }
+                if (!segments[i].equals(pathSegments[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        Map<String, String> extractParams(String path) {
+            String[] pathSegments = path.split("/");
+            Map<String, String> params = new HashMap<>();
+            for (int i = 0; i < segments.length; i++) {
+                if (segments[i].startsWith("{")) {
+                    String key = segments[i].substring(1, segments[i].length() - 1);
+                    params.put(key, pathSegments[i]);
+                }
+            }
+            return params;
+        }
+    }
+}
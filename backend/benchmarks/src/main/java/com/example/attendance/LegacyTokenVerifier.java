@@ -0,0 +1,74 @@
+package com.example.attendance;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Token verification as {@link TokenService} did it before the verified-token cache: split the token, look up
+ * and initialize a fresh {@link Mac}, then parse the whole payload, on every request. Kept as the baseline for
+ * {@link TokenServiceBenchmark}.
+ */
+final class LegacyTokenVerifier {
+    private static final String HMAC = "HmacSHA256";
+    private final byte[] secret;
+
+    LegacyTokenVerifier(byte[] secret) {
+        this.secret = secret.clone();
+    }
+
+    Optional<TokenService.TokenPayload> verify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        String[] parts = token.split("\\.");
+        if (parts.length != 3) {
+            return Optional.empty();
+        }
+        String signature = sign(parts[0] + "." + parts[1]);
+        if (!constantTimeEquals(signature, parts[2])) {
+            return Optional.empty();
+        }
+        String payloadJson = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8);
+        Map<String, Object> payload = Json.parseObject(payloadJson);
+        String username = (String) payload.get("sub");
+        String role = (String) payload.get("role");
+        Object expValue = payload.get("exp");
+        if (username == null || role == null || expValue == null) {
+            return Optional.empty();
+        }
+        long exp = expValue instanceof Number number ? number.longValue() : Long.parseLong(expValue.toString());
+        if (Instant.now().getEpochSecond() >= exp) {
+            return Optional.empty();
+        }
+        return Optional.of(new TokenService.TokenPayload(username, role));
+    }
+
+    private String sign(String data) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(new SecretKeySpec(secret, HMAC));
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(mac.doFinal(data.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign token", e);
+        }
+    }
+
+    private static boolean constantTimeEquals(String a, String b) {
+        if (a.length() != b.length()) {
+            return false;
+        }
+        int result = 0;
+        for (int i = 0; i < a.length(); i++) {
+            result |= a.charAt(i) ^ b.charAt(i);
+        }
+        return result == 0;
+    }
+}
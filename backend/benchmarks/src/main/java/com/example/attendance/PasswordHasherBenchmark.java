@@ -0,0 +1,36 @@
+package com.example.attendance;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordHasherBenchmark {
+    private PasswordHasher hasher;
+    private PasswordHasher.HashedPassword hashed;
+
+    @Setup
+    public void setUp() {
+        hasher = new PasswordHasher();
+        hashed = hasher.hash("admin123");
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return hasher.verify("admin123", hashed);
+    }
+}
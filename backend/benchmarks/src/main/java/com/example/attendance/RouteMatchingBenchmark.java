@@ -0,0 +1,90 @@
+package com.example.attendance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Dispatch of the plain server's routes through {@link RouteTrie} versus the old linear scan. Extra resource
+ * routes are registered ahead of the real ones, as they would be in a larger API, so the linear scan has to
+ * walk past them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RouteMatchingBenchmark {
+    private static final String[][] SERVER_ROUTES = {
+            {"POST", "/api/auth/login"},
+            {"GET", "/api/employees"},
+            {"POST", "/api/employees"},
+            {"GET", "/api/employees/search"},
+            {"GET", "/api/employees/annual-leave"},
+            {"GET", "/api/employees/{id:long}/annual-leave"},
+            {"POST", "/api/leave-requests"},
+            {"GET", "/api/leave-requests"},
+            {"GET", "/api/metrics"}
+    };
+    private static final String[][] REQUESTS = {
+            {"GET", "/api/employees"},
+            {"GET", "/api/employees/42/annual-leave"},
+            {"GET", "/api/leave-requests"},
+            {"POST", "/api/leave-requests"},
+            {"GET", "/api/unknown/path"}
+    };
+
+    @Param({"0", "50"})
+    public int extraRoutes;
+
+    private RouteTrie<String> trie;
+    private LegacyRouteMatcher<String> legacy;
+
+    @Setup
+    public void setUp() {
+        List<String[]> routes = new ArrayList<>();
+        for (int i = 0; i < extraRoutes; i++) {
+            String resource = "/api/resource" + i;
+            switch (i % 3) {
+                case 0 -> routes.add(new String[] {"GET", resource});
+                case 1 -> routes.add(new String[] {"GET", resource + "/{id:long}"});
+                default -> routes.add(new String[] {"POST", resource + "/{id:long}/items"});
+            }
+        }
+        routes.addAll(List.of(SERVER_ROUTES));
+        trie = new RouteTrie<>();
+        legacy = new LegacyRouteMatcher<>();
+        for (String[] route : routes) {
+            trie.add(route[0], route[1], route[1]);
+            legacy.add(route[0], route[1].replace(":long}", "}"), route[1]);
+        }
+    }
+
+    @Benchmark
+    public void trie(Blackhole blackhole) {
+        for (String[] request : REQUESTS) {
+            blackhole.consume(trie.find(request[0], request[1]));
+        }
+    }
+
+    @Benchmark
+    public void linearScan(Blackhole blackhole) {
+        for (String[] request : REQUESTS) {
+            blackhole.consume(legacy.find(request[0], request[1]));
+        }
+    }
+}
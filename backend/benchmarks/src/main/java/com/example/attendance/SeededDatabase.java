@@ -0,0 +1,100 @@
+package com.example.attendance;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * A plain-backend database in a temporary directory, filled with deterministic employees and leave requests
+ * spread over the current leave year. The directory is deleted on close.
+ */
+final class SeededDatabase implements AutoCloseable {
+    private static final String[] SURNAMES = {"王", "李", "张", "刘", "陈", "杨", "黄", "赵", "吴", "周"};
+    private static final String[] GIVEN_NAMES = {"伟", "芳", "娜", "敏", "静", "磊", "洋", "勇", "艳", "杰"};
+    private static final String[] ENGLISH_NAMES = {"Alice", "Bob", "Carol", "David", "Emma", "Frank", "Grace",
+            "Henry", "Iris", "Jack"};
+    private static final String[] LEAVE_TYPES = {"ANNUAL", "SICK", "PERSONAL"};
+
+    private final Path directory;
+    private Database database;
+
+    private SeededDatabase(Path directory, Database database) {
+        this.directory = directory;
+        this.database = database;
+    }
+
+    static SeededDatabase create(int employees, int leaveRequestsPerEmployee) {
+        return create(employees, leaveRequestsPerEmployee, Database.Options.fromSystemProperties());
+    }
+
+    static SeededDatabase create(int employees, int leaveRequestsPerEmployee, Database.Options options) {
+        Path directory;
+        try {
+            directory = Files.createTempDirectory("attendance-bench");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Database database = new Database(directory.resolve("attendance.db"), options);
+        database.initialize();
+        Random random = new Random(42);
+        LocalDate leaveYearStart = AnnualLeaveCache.leaveYearStart(LocalDate.now());
+        LocalDateTime createdAt = LocalDateTime.now();
+        database.inTransaction(tx -> {
+            for (int i = 0; i < employees; i++) {
+                LocalDate hireDate = LocalDate.of(2010, 1, 1).plusDays(random.nextInt(16 * 365));
+                tx.execute("INSERT INTO employee (chinese_name, english_name, hire_date) VALUES (?,?,?);",
+                        chineseName(i), englishName(i), hireDate);
+            }
+            for (int i = 0; i < employees; i++) {
+                for (int j = 0; j < leaveRequestsPerEmployee; j++) {
+                    LocalDateTime start = leaveYearStart.atTime(9, 0).plusDays(random.nextInt(360));
+                    tx.execute("INSERT INTO leave_request (employee_id, type, start_time, end_time, hours, "
+                                    + "created_at) VALUES (?,?,?,?,?,?);",
+                            i + 1, LEAVE_TYPES[(i + j) % LEAVE_TYPES.length], start, start.plusHours(4), 4.0,
+                            createdAt);
+                }
+            }
+            return null;
+        });
+        database.execute("ANALYZE;");
+        return new SeededDatabase(directory, database);
+    }
+
+    static String chineseName(int index) {
+        return SURNAMES[index % SURNAMES.length] + GIVEN_NAMES[(index / SURNAMES.length) % GIVEN_NAMES.length]
+                + index;
+    }
+
+    static String englishName(int index) {
+        return ENGLISH_NAMES[index % ENGLISH_NAMES.length] + index;
+    }
+
+    Database database() {
+        return database;
+    }
+
+    /**
+     * Closes the seeding connection and opens the same file again, for example with another engine.
+     */
+    Database reopen(Database.Options options) {
+        database.close();
+        database = new Database(directory.resolve("attendance.db"), options);
+        return database;
+    }
+
+    @Override
+    public void close() {
+        database.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.attendance;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Per-request authentication cost: a token served from the verified-token cache, a cache miss that still reuses
+ * the thread's {@link javax.crypto.Mac}, and the {@link LegacyTokenVerifier} baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenServiceBenchmark {
+    private Path secretFile;
+    private TokenService tokenService;
+    private TokenService uncachedTokenService;
+    private LegacyTokenVerifier legacyVerifier;
+    private String token;
+
+    @Setup
+    public void setUp() throws IOException {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        secretFile = Files.createTempFile("attendance-bench", ".key");
+        Files.write(secretFile, secret);
+        tokenService = TokenService.load(secretFile);
+        uncachedTokenService = TokenService.load(secretFile, new TokenService.Options(0));
+        legacyVerifier = new LegacyTokenVerifier(secret);
+        token = tokenService.generateToken("admin", "ADMIN", 3600);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(secretFile);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenService.generateToken("admin", "ADMIN", 3600);
+    }
+
+    @Benchmark
+    public Optional<TokenService.TokenPayload> verifyToken() {
+        return tokenService.verifyToken(token);
+    }
+
+    @Benchmark
+    public Optional<TokenService.TokenPayload> verifyTokenUncached() {
+        return uncachedTokenService.verifyToken(token);
+    }
+
+    @Benchmark
+    public Optional<TokenService.TokenPayload> legacyVerifyToken() {
+        return legacyVerifier.verify(token);
+    }
+}
@@ -5,11 +5,18 @@ ROOT_DIR=$(cd "$(dirname "$0")" && pwd)
 SRC_DIR="$ROOT_DIR/src/main/java"
 TARGET_DIR="$ROOT_DIR/target"
 CLASSES_DIR="$TARGET_DIR/classes"
+LIB_DIR="$TARGET_DIR/lib"
+M2_REPO=${M2_REPO:-$HOME/.m2/repository}
+SQLITE_JDBC_JAR=${SQLITE_JDBC_JAR:-$M2_REPO/org/xerial/sqlite-jdbc/3.45.2.0/sqlite-jdbc-3.45.2.0.jar}
+SLF4J_API_JAR=${SLF4J_API_JAR:-$M2_REPO/org/slf4j/slf4j-api/2.0.13/slf4j-api-2.0.13.jar}
 
-mkdir -p "$CLASSES_DIR"
+mkdir -p "$CLASSES_DIR" "$LIB_DIR"
 find "$CLASSES_DIR" -type f -name '*.class' -delete
+rm -f "$LIB_DIR"/*.jar
 
-mapfile -t SOURCES < <(find "$SRC_DIR" -name '*.java')
+# Only the plain backend; the Spring Boot application under the subpackages is built by Maven.
+mapfile -t SOURCES < <(find "$SRC_DIR/com/example/attendance" -maxdepth 1 -name '*.java' \
+  ! -name 'AttendanceSystemApplication.java')
 if [ "${#SOURCES[@]}" -eq 0 ]; then
   echo "No source files found" >&2
   exit 1
@@ -17,7 +24,16 @@ fi
 
 javac -encoding UTF-8 --release 17 -d "$CLASSES_DIR" "${SOURCES[@]}"
 
+if [ -f "$SQLITE_JDBC_JAR" ] && [ -f "$SLF4J_API_JAR" ]; then
+  cp "$SQLITE_JDBC_JAR" "$LIB_DIR/sqlite-jdbc.jar"
+  cp "$SLF4J_API_JAR" "$LIB_DIR/slf4j-api.jar"
+else
+  echo "sqlite-jdbc or slf4j-api not found; the backend will fall back to the sqlite3 CLI engine." >&2
+  echo "Run 'mvn -f $ROOT_DIR/pom.xml dependency:resolve' or set SQLITE_JDBC_JAR and SLF4J_API_JAR." >&2
+fi
+
+printf 'Class-Path: lib/sqlite-jdbc.jar lib/slf4j-api.jar\n' > "$TARGET_DIR/MANIFEST.MF"
 jar --create --file "$TARGET_DIR/attendance-backend.jar" --main-class com.example.attendance.AttendanceApplication \
-  -C "$CLASSES_DIR" .
+  --manifest "$TARGET_DIR/MANIFEST.MF" -C "$CLASSES_DIR" .
 
 echo "Built $TARGET_DIR/attendance-backend.jar"
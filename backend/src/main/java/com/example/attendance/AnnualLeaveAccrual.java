@@ -0,0 +1,36 @@
+package com.example.attendance;
+
+/**
+ * Annual leave accrual on epoch months (months since January 1970). Each month of the leave year that
+ * starts on or after the hire date adds 1/12 day; each month at least six months after the hire month
+ * also adds 10/12 day of base quota, which tops out at 10 days for a full year.
+ */
+public final class AnnualLeaveAccrual {
+    private static final int MONTHS_PER_YEAR = 12;
+    private static final int LEAVE_YEAR_FIRST_MONTH = 4;
+    private static final int BASE_QUOTA_DELAY_MONTHS = 6;
+    private static final int BASE_QUOTA_DAYS = 10;
+
+    private AnnualLeaveAccrual() {
+    }
+
+    public static int epochMonth(int year, int month) {
+        return (year - 1970) * MONTHS_PER_YEAR + month - 1;
+    }
+
+    public static int leaveYearStart(int epochMonth) {
+        return epochMonth - Math.floorMod(epochMonth - (LEAVE_YEAR_FIRST_MONTH - 1), MONTHS_PER_YEAR);
+    }
+
+    public static double totalQuotaDays(int hireMonth, int hireDayOfMonth, int leaveYearStart) {
+        int leaveYearEnd = leaveYearStart + MONTHS_PER_YEAR;
+        int firstAccrualMonth = hireDayOfMonth == 1 ? hireMonth : hireMonth + 1;
+        int accrualMonths = monthsUntil(Math.max(leaveYearStart, firstAccrualMonth), leaveYearEnd);
+        int baseMonths = monthsUntil(Math.max(leaveYearStart, hireMonth + BASE_QUOTA_DELAY_MONTHS), leaveYearEnd);
+        return (double) (baseMonths * BASE_QUOTA_DAYS + accrualMonths) / MONTHS_PER_YEAR;
+    }
+
+    private static int monthsUntil(int fromInclusive, int toExclusive) {
+        return Math.max(0, toExclusive - fromInclusive);
+    }
+}
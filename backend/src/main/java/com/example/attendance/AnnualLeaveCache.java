@@ -0,0 +1,56 @@
+package com.example.attendance;
+
+import java.time.LocalDate;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of annual leave summaries keyed by employee and leave year. Leave years start on
+ * April 1, so a new leave year simply misses and the previous year's entries age out. A summary
+ * computed while {@link #invalidate} ran for any employee is returned but not stored, so a
+ * calculation that raced a write never outlives it.
+ */
+public final class AnnualLeaveCache<V> {
+    private final LruCache<Key, V> entries;
+    private long invalidations;
+
+    public AnnualLeaveCache(int capacity) {
+        this.entries = new LruCache<>(capacity);
+    }
+
+    public static LocalDate leaveYearStart(LocalDate date) {
+        return date.getMonthValue() >= 4
+                ? LocalDate.of(date.getYear(), 4, 1)
+                : LocalDate.of(date.getYear() - 1, 4, 1);
+    }
+
+    public V get(long employeeId, LocalDate leaveYearStart, Supplier<V> loader) {
+        Key key = new Key(employeeId, leaveYearStart);
+        V cached = entries.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        long seen;
+        synchronized (this) {
+            seen = invalidations;
+        }
+        V value = loader.get();
+        synchronized (this) {
+            if (invalidations == seen) {
+                entries.put(key, value);
+            }
+        }
+        return value;
+    }
+
+    public synchronized void invalidate(long employeeId) {
+        invalidations++;
+        entries.removeIf(key -> key.employeeId() == employeeId);
+    }
+
+    public LruCache.Stats stats() {
+        return entries.stats();
+    }
+
+    private record Key(long employeeId, LocalDate leaveYearStart) {
+    }
+}
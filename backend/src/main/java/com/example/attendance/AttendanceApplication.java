@@ -6,6 +6,8 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 
 public final class AttendanceApplication {
+    private static final System.Logger LOGGER = System.getLogger(AttendanceApplication.class.getName());
+
     private AttendanceApplication() {
     }
 
@@ -18,17 +20,29 @@ public final class AttendanceApplication {
         Path databaseFile = dataDir.resolve("attendance.db");
         Path secretFile = dataDir.resolve("backend-secret.key");
 
-        Database database = new Database(databaseFile);
+        Database.Options databaseOptions = Database.Options.fromSystemProperties();
+        String engine = System.getProperty("attendance.db.engine");
+        if ((engine == null || engine.isBlank()) && databaseOptions.engine() == Database.EngineType.CLI) {
+            LOGGER.log(System.Logger.Level.WARNING,
+                    "sqlite-jdbc is not on the classpath; falling back to the sqlite3 CLI engine");
+        }
+        Database database = new Database(databaseFile, databaseOptions);
         database.initialize();
+        Runtime.getRuntime().addShutdownHook(new Thread(database::close));
 
-        TokenService tokenService = TokenService.load(secretFile);
+        TokenService.Options tokenOptions = TokenService.Options.fromSystemProperties();
+        TokenService tokenService = TokenService.load(secretFile, tokenOptions);
         PasswordHasher hasher = new PasswordHasher();
         AuthService authService = new AuthService(database, hasher, tokenService);
-        EmployeeService employeeService = new EmployeeService(database);
+        EmployeeService.Options employeeOptions = EmployeeService.Options.fromSystemProperties();
+        EmployeeService employeeService = new EmployeeService(database, employeeOptions);
         LeaveRequestService leaveService = new LeaveRequestService(database, employeeService);
 
-        HttpServerRunner server = new HttpServerRunner(8080, authService, employeeService, leaveService);
-        System.out.println("Attendance backend started on http://localhost:8080");
+        HttpServerRunner.Options serverOptions = HttpServerRunner.Options.fromSystemProperties();
+        HttpServerRunner server = new HttpServerRunner(serverOptions, database, authService, employeeService,
+                leaveService);
         server.start();
+        System.out.println("Attendance backend started on http://localhost:" + server.address().getPort() + " ("
+                + databaseOptions.engine() + " engine, " + serverOptions.mode() + " executor)");
     }
 }
@@ -1,8 +1,6 @@
 package com.example.attendance;
 
 import java.time.Duration;
-import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -20,26 +18,33 @@ public final class AuthService {
     }
 
     public Optional<LoginResult> login(String username, String password) {
-        List<Map<String, String>> rows = database.query(
-                "SELECT username, password_hash, salt, role FROM user_account WHERE username='" +
-                        Database.escape(username) + "';");
-        if (rows.isEmpty()) {
+        Optional<Account> found = database.queryFirst(
+                "SELECT username, password_hash, salt, role FROM user_account WHERE username=?;",
+                row -> new Account(row.getString(1),
+                        new PasswordHasher.HashedPassword(row.getString(2), row.getString(3)), row.getString(4)),
+                username);
+        if (found.isEmpty()) {
             return Optional.empty();
         }
-        Map<String, String> row = rows.get(0);
-        PasswordHasher.HashedPassword hashed = new PasswordHasher.HashedPassword(
-                row.get("password_hash"), row.get("salt"));
-        if (!hasher.verify(password, hashed)) {
+        Account account = found.get();
+        if (!hasher.verify(password, account.password())) {
             return Optional.empty();
         }
-        String token = tokenService.generateToken(row.get("username"), row.get("role"), TOKEN_VALIDITY_SECONDS);
-        return Optional.of(new LoginResult(token, row.get("role")));
+        String token = tokenService.generateToken(account.username(), account.role(), TOKEN_VALIDITY_SECONDS);
+        return Optional.of(new LoginResult(token, account.role()));
     }
 
     public Optional<TokenService.TokenPayload> verify(String token) {
         return tokenService.verifyToken(token);
     }
 
+    public LruCache.Stats tokenCacheStats() {
+        return tokenService.cacheStats();
+    }
+
     public record LoginResult(String token, String role) {
     }
+
+    private record Account(String username, PasswordHasher.HashedPassword password, String role) {
+    }
 }
@@ -0,0 +1,248 @@
+package com.example.attendance;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class CliEngine implements SqlEngine {
+    private final Path databaseFile;
+    private final AtomicLong generation = new AtomicLong();
+    private Thread transactionThread;
+
+    CliEngine(Path databaseFile) {
+        this.databaseFile = databaseFile;
+    }
+
+    @Override
+    public synchronized void execute(String sql, Object... params) {
+        refuseInsideTransaction();
+        write(sql, params);
+    }
+
+    private void write(String sql, Object... params) {
+        runProcess(SqlParameters.inline(sql, params), false);
+        generation.incrementAndGet();
+    }
+
+    @Override
+    public synchronized void executeScript(List<String> statements) {
+        refuseInsideTransaction();
+        StringBuilder script = new StringBuilder("BEGIN IMMEDIATE;");
+        for (String statement : statements) {
+            script.append(statement.trim());
+            if (!statement.trim().endsWith(";")) {
+                script.append(';');
+            }
+        }
+        script.append("COMMIT;");
+        runProcess(script.toString(), false);
+        generation.incrementAndGet();
+    }
+
+    @Override
+    public CompletableFuture<Long> insertAsync(String sql, Object... params) {
+        try {
+            return CompletableFuture.completedFuture(insert(sql, params));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private synchronized long insert(String sql, Object... params) {
+        refuseInsideTransaction();
+        String statement = SqlParameters.inline(sql, params).trim();
+        if (!statement.endsWith(";")) {
+            statement += ";";
+        }
+        List<Map<String, String>> rows = parseRows(runProcess(statement + "SELECT last_insert_rowid() AS id;", true));
+        generation.incrementAndGet();
+        return Long.parseLong(rows.get(0).get("id"));
+    }
+
+    @Override
+    public synchronized List<Map<String, String>> query(String sql, Object... params) {
+        return parseRows(runProcess(SqlParameters.inline(sql, params), true));
+    }
+
+    @Override
+    public synchronized void forEachRow(String sql, Object[] params, Database.RowCallback callback) {
+        List<String> command = List.of("sqlite3", "-bail", "-separator", "\u001F", "-nullvalue", CliRow.NULL,
+                databaseFile.toString(), "PRAGMA foreign_keys=ON;" + SqlParameters.inline(sql, params));
+        Process process = null;
+        try {
+            process = new ProcessBuilder(command).start();
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                CliRow row = new CliRow();
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isEmpty()) {
+                        continue;
+                    }
+                    row.values = line.split("\u001F", -1);
+                    callback.accept(row);
+                }
+            }
+            String errors = new String(process.getErrorStream().readAllBytes(), StandardCharsets.UTF_8);
+            if (process.waitFor() != 0) {
+                throw new IllegalStateException("SQLite error: " + errors.trim());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("SQLite execution interrupted", e);
+        } finally {
+            if (process != null && process.isAlive()) {
+                process.destroy();
+            }
+        }
+    }
+
+    /**
+     * sqlite3 cannot keep a transaction open across processes, so the work only runs under this engine's lock:
+     * it is serialized against other statements from this process, but each of its statements commits on its
+     * own and nothing is rolled back on failure. Writes through the engine itself are refused inside the work,
+     * as they are on the JDBC writer.
+     */
+    @Override
+    public synchronized <T> T inTransaction(Database.TransactionWork<T> work) {
+        refuseInsideTransaction();
+        transactionThread = Thread.currentThread();
+        try {
+            return runTransaction(work);
+        } finally {
+            transactionThread = null;
+            generation.incrementAndGet();
+        }
+    }
+
+    private void refuseInsideTransaction() {
+        if (Thread.currentThread() == transactionThread) {
+            throw new IllegalStateException("Writes inside a transaction must go through its Transaction");
+        }
+    }
+
+    private <T> T runTransaction(Database.TransactionWork<T> work) {
+        return work.run(new Database.Transaction() {
+            @Override
+            public void execute(String sql, Object... params) {
+                write(sql, params);
+            }
+
+            @Override
+            public void forEachRow(String sql, Database.RowCallback callback, Object... params) {
+                CliEngine.this.forEachRow(sql, params, callback);
+            }
+        });
+    }
+
+    @Override
+    public Database.StatementCacheStats statementCacheStats() {
+        return new Database.StatementCacheStats(0, 0, 0, 0);
+    }
+
+    @Override
+    public Database.WriterStats writerStats() {
+        return new Database.WriterStats(0, 0, 0, 0);
+    }
+
+    @Override
+    public long writeGeneration() {
+        return generation.get();
+    }
+
+    @Override
+    public void close() {
+        // every statement runs in its own process, nothing to release
+    }
+
+    private static List<Map<String, String>> parseRows(String output) {
+        if (output.isBlank()) {
+            return Collections.emptyList();
+        }
+        List<Map<String, String>> rows = new ArrayList<>();
+        String[] lines = output.split("\n");
+        if (lines.length == 0) {
+            return rows;
+        }
+        String[] headers = lines[0].split("\u001F", -1);
+        for (int i = 1; i < lines.length; i++) {
+            if (lines[i].isEmpty()) {
+                continue;
+            }
+            String[] values = lines[i].split("\u001F", -1);
+            Map<String, String> row = new LinkedHashMap<>();
+            for (int j = 0; j < headers.length && j < values.length; j++) {
+                row.put(headers[j], values[j]);
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static final class CliRow implements Database.Row {
+        private static final String NULL = "\u001E";
+
+        private String[] values;
+
+        @Override
+        public boolean isNull(int column) {
+            return NULL.equals(values[column - 1]);
+        }
+
+        @Override
+        public String getString(int column) {
+            return isNull(column) ? null : values[column - 1];
+        }
+
+        @Override
+        public long getLong(int column) {
+            return isNull(column) ? 0 : Long.parseLong(values[column - 1]);
+        }
+
+        @Override
+        public double getDouble(int column) {
+            return isNull(column) ? 0 : Double.parseDouble(values[column - 1]);
+        }
+    }
+
+    private String runProcess(String sql, boolean query) {
+        List<String> command = new ArrayList<>();
+        command.add("sqlite3");
+        command.add("-bail");
+        if (query) {
+            command.add("-header");
+            command.add("-separator");
+            command.add("\u001F");
+        }
+        command.add(databaseFile.toString());
+        command.add("PRAGMA foreign_keys=ON;" + sql);
+        ProcessBuilder builder = new ProcessBuilder(command);
+        builder.redirectErrorStream(true);
+        try {
+            Process process = builder.start();
+            String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            int exit = process.waitFor();
+            if (exit != 0) {
+                throw new IllegalStateException("SQLite error: " + output.trim());
+            }
+            return output.trim();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("SQLite execution interrupted", e);
+        }
+    }
+}
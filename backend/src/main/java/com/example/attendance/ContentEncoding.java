@@ -0,0 +1,99 @@
+package com.example.attendance;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Response encodings the plain HTTP server can negotiate from {@code Accept-Encoding}. Compressed bodies are
+ * deflated while they are written, so the encoded form is never held in memory as a whole.
+ */
+enum ContentEncoding {
+    IDENTITY("identity"),
+    GZIP("gzip"),
+    DEFLATE("deflate");
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final String token;
+
+    ContentEncoding(String token) {
+        this.token = token;
+    }
+
+    String token() {
+        return token;
+    }
+
+    OutputStream wrap(OutputStream out, int level) throws IOException {
+        return switch (this) {
+            case IDENTITY -> out;
+            case GZIP -> new LeveledGzipOutputStream(out, level);
+            case DEFLATE -> new DeflaterOutputStream(out, new Deflater(level), BUFFER_SIZE) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        def.end();
+                    }
+                }
+            };
+        };
+    }
+
+    static ContentEncoding negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return IDENTITY;
+        }
+        double gzip = -1;
+        double deflate = -1;
+        double wildcard = -1;
+        for (String part : acceptEncoding.split(",")) {
+            String[] fields = part.split(";");
+            String coding = fields[0].trim().toLowerCase(Locale.ROOT);
+            double quality = quality(fields);
+            switch (coding) {
+                case "gzip", "x-gzip" -> gzip = quality;
+                case "deflate" -> deflate = quality;
+                case "*" -> wildcard = quality;
+                default -> {
+                }
+            }
+        }
+        if (gzip < 0) {
+            gzip = wildcard;
+        }
+        if (deflate < 0) {
+            deflate = wildcard;
+        }
+        if (gzip <= 0 && deflate <= 0) {
+            return IDENTITY;
+        }
+        return gzip >= deflate ? GZIP : DEFLATE;
+    }
+
+    private static double quality(String[] fields) {
+        for (int i = 1; i < fields.length; i++) {
+            String parameter = fields[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static final class LeveledGzipOutputStream extends GZIPOutputStream {
+        LeveledGzipOutputStream(OutputStream out, int level) throws IOException {
+            super(out, BUFFER_SIZE);
+            def.setLevel(level);
+        }
+    }
+}
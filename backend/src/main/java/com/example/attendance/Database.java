@@ -1,122 +1,255 @@
 package com.example.attendance;
 
-import java.io.IOException;
-import java.io.UncheckedIOException;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.LinkedHashMap;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
-public final class Database {
-    private final Path databaseFile;
+public final class Database implements QueryRunner, AutoCloseable {
+    private final Options options;
+    private final SqlEngine engine;
 
     public Database(Path databaseFile) {
-        this.databaseFile = Objects.requireNonNull(databaseFile, "databaseFile");
-    }
-
-    public synchronized void initialize() {
-        execute("PRAGMA foreign_keys=ON;");
-        execute("CREATE TABLE IF NOT EXISTS user_account (" +
-                "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
-                "username TEXT UNIQUE NOT NULL, " +
-                "password_hash TEXT NOT NULL, " +
-                "salt TEXT NOT NULL, " +
-                "role TEXT NOT NULL" +
-                ");");
-        execute("CREATE TABLE IF NOT EXISTS employee (" +
-                "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
-                "chinese_name TEXT NOT NULL, " +
-                "english_name TEXT UNIQUE NOT NULL, " +
-                "hire_date TEXT NOT NULL" +
-                ");");
-        execute("CREATE TABLE IF NOT EXISTS leave_request (" +
-                "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
-                "employee_id INTEGER NOT NULL, " +
-                "type TEXT NOT NULL, " +
-                "start_time TEXT NOT NULL, " +
-                "end_time TEXT NOT NULL, " +
-                "hours REAL NOT NULL, " +
-                "created_at TEXT NOT NULL, " +
-                "FOREIGN KEY(employee_id) REFERENCES employee(id) ON DELETE CASCADE" +
-                ");");
+        this(databaseFile, Options.defaults());
+    }
+
+    public Database(Path databaseFile, Options options) {
+        Objects.requireNonNull(databaseFile, "databaseFile");
+        this.options = Objects.requireNonNull(options, "options");
+        this.engine = switch (options.engine()) {
+            case JDBC -> new JdbcEngine(databaseFile, options);
+            case CLI -> new CliEngine(databaseFile);
+        };
+    }
+
+    public void initialize() {
+        new SchemaMigrations(this).migrate();
         ensureAdminAccount();
     }
 
-    public synchronized void execute(String sql) {
-        runProcess(sql, false);
+    public void execute(String sql, Object... params) {
+        engine.execute(sql, params);
     }
 
-    public synchronized List<Map<String, String>> query(String sql) {
-        String output = runProcess(sql, true);
-        if (output.isBlank()) {
-            return Collections.emptyList();
-        }
-        List<Map<String, String>> rows = new ArrayList<>();
-        String[] lines = output.split("\n");
-        if (lines.length == 0) {
-            return rows;
-        }
-        String[] headers = lines[0].split("\u001F", -1);
-        for (int i = 1; i < lines.length; i++) {
-            if (lines[i].isEmpty()) {
-                continue;
-            }
-            String[] values = lines[i].split("\u001F", -1);
-            Map<String, String> row = new LinkedHashMap<>();
-            for (int j = 0; j < headers.length && j < values.length; j++) {
-                row.put(headers[j], values[j]);
-            }
-            rows.add(row);
-        }
-        return rows;
+    void executeScript(List<String> statements) {
+        engine.executeScript(statements);
+    }
+
+    public long insert(String sql, Object... params) {
+        return await(insertAsync(sql, params));
+    }
+
+    public CompletableFuture<Long> insertAsync(String sql, Object... params) {
+        return engine.insertAsync(sql, params);
+    }
+
+    public List<Map<String, String>> query(String sql, Object... params) {
+        return engine.query(sql, params);
+    }
+
+    @Override
+    public void forEachRow(String sql, RowCallback callback, Object... params) {
+        engine.forEachRow(sql, params, Objects.requireNonNull(callback, "callback"));
+    }
+
+    /**
+     * Runs {@code work} as one unit on the writer: its reads see its own writes, nothing else writes in between,
+     * and any exception thrown by {@code work} rolls back everything it did before being rethrown here. Inside
+     * {@code work}, use only the given {@link Transaction}: this database's own write methods throw
+     * {@link IllegalStateException} there, and its reads do not see the transaction's uncommitted writes.
+     * <p>
+     * The {@link EngineType#CLI CLI} engine cannot hold a transaction across sqlite3 processes. There the work is
+     * only serialized against other statements from this process: each statement commits as it runs, a failure
+     * rolls nothing back, and this database's reads already see the work's writes.
+     */
+    public <T> T inTransaction(TransactionWork<T> work) {
+        return engine.inTransaction(Objects.requireNonNull(work, "work"));
+    }
+
+    public Options options() {
+        return options;
+    }
+
+    public StatementCacheStats statementCacheStats() {
+        return engine.statementCacheStats();
+    }
+
+    public WriterStats writerStats() {
+        return engine.writerStats();
+    }
+
+    /**
+     * Increases after every committed write, so a value derived from the database while the generation
+     * was {@code g} is still current as long as {@code writeGeneration() == g}.
+     */
+    public long writeGeneration() {
+        return engine.writeGeneration();
+    }
+
+    @Override
+    public void close() {
+        engine.close();
     }
 
     public static String escape(String value) {
         return value.replace("'", "''");
     }
 
-    private String runProcess(String sql, boolean query) {
-        List<String> command = new ArrayList<>();
-        command.add("sqlite3");
-        if (query) {
-            command.add("-header");
-            command.add("-separator");
-            command.add("\u001F");
-        }
-        command.add(databaseFile.toString());
-        command.add("PRAGMA foreign_keys=ON;" + sql);
-        ProcessBuilder builder = new ProcessBuilder(command);
-        builder.redirectErrorStream(true);
+    static <T> T await(CompletableFuture<T> future) {
         try {
-            Process process = builder.start();
-            String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
-            int exit = process.waitFor();
-            if (exit != 0) {
-                throw new IllegalStateException("SQLite error: " + output.trim());
-            }
-            return output.trim();
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
+            return future.get();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            throw new IllegalStateException("SQLite execution interrupted", e);
+            throw new IllegalStateException("Interrupted while waiting for a database write", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("SQLite error: " + cause.getMessage(), cause);
         }
     }
 
     private void ensureAdminAccount() {
-        List<Map<String, String>> existing = query("SELECT id FROM user_account WHERE username='admin';");
-        if (!existing.isEmpty()) {
+        if (queryFirst("SELECT id FROM user_account WHERE username=?;", row -> row.getLong(1), "admin").isPresent()) {
             return;
         }
         PasswordHasher hasher = new PasswordHasher();
         PasswordHasher.HashedPassword hashed = hasher.hash("admin123");
-        String sql = String.format("INSERT INTO user_account (username, password_hash, salt, role) " +
-                        "VALUES ('admin','%s','%s','ADMIN');",
-                escape(hashed.hash()), escape(hashed.salt()));
-        execute(sql);
+        execute("INSERT INTO user_account (username, password_hash, salt, role) VALUES (?,?,?,?);",
+                "admin", hashed.hash(), hashed.salt(), "ADMIN");
+    }
+
+    public interface Transaction extends QueryRunner {
+        void execute(String sql, Object... params);
+
+        /**
+         * Executes an INSERT whose {@code RETURNING} clause yields the generated id as its first column.
+         */
+        default long insert(String sql, Object... params) {
+            return queryFirst(sql, row -> row.getLong(1), params)
+                    .orElseThrow(() -> new IllegalStateException("INSERT did not return an id: " + sql));
+        }
+    }
+
+    @FunctionalInterface
+    public interface TransactionWork<T> {
+        T run(Transaction transaction);
+    }
+
+    /**
+     * A positioned result row. Columns are addressed by their 1-based index in the select list, as in JDBC.
+     * A row is only valid inside the callback that received it. SQL NULL reads as {@code null} from the object
+     * getters and as 0 from {@link #getLong} and {@link #getDouble}, on every engine; {@link #isNull} tells it
+     * apart from a stored 0.
+     */
+    public interface Row {
+        boolean isNull(int column);
+
+        String getString(int column);
+
+        long getLong(int column);
+
+        double getDouble(int column);
+
+        default LocalDate getLocalDate(int column) {
+            String value = getString(column);
+            return value == null ? null : LocalDate.parse(value);
+        }
+
+        default LocalDateTime getLocalDateTime(int column) {
+            String value = getString(column);
+            return value == null ? null : LocalDateTime.parse(value);
+        }
+    }
+
+    @FunctionalInterface
+    public interface RowCallback {
+        void accept(Row row);
+    }
+
+    @FunctionalInterface
+    public interface RowMapper<T> {
+        T map(Row row);
+    }
+
+    public record Options(EngineType engine, int statementCacheSize, int readerConnections,
+                          int groupCommitMaxBatch, long groupCommitMaxWaitMillis) {
+        public Options {
+            Objects.requireNonNull(engine, "engine");
+            if (statementCacheSize <= 0) {
+                throw new IllegalArgumentException("Statement cache size must be greater than zero");
+            }
+            if (readerConnections <= 0) {
+                throw new IllegalArgumentException("Reader connections must be greater than zero");
+            }
+            if (groupCommitMaxBatch <= 0) {
+                throw new IllegalArgumentException("Group commit batch size must be greater than zero");
+            }
+            if (groupCommitMaxWaitMillis < 0) {
+                throw new IllegalArgumentException("Group commit wait must not be negative");
+            }
+        }
+
+        public static Options defaults() {
+            return new Options(EngineType.detect(), 64, Math.min(4, Runtime.getRuntime().availableProcessors()), 64, 2);
+        }
+
+        public static Options fromSystemProperties() {
+            Options defaults = defaults();
+            String engine = System.getProperty("attendance.db.engine");
+            return new Options(
+                    engine == null || engine.isBlank() ? defaults.engine() : EngineType.from(engine),
+                    Integer.getInteger("attendance.db.statementCacheSize", defaults.statementCacheSize()),
+                    Integer.getInteger("attendance.db.readers", defaults.readerConnections()),
+                    Integer.getInteger("attendance.db.groupCommit.maxBatch", defaults.groupCommitMaxBatch()),
+                    Long.getLong("attendance.db.groupCommit.maxWaitMillis", defaults.groupCommitMaxWaitMillis()));
+        }
+    }
+
+    public record StatementCacheStats(long hits, long misses, long evictions, int size) {
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+    }
+
+    public record WriterStats(long commits, long writes, int largestBatch, int queued) {
+    }
+
+    public enum EngineType {
+        JDBC,
+        CLI;
+
+        public static EngineType from(String value) {
+            if (value == null || value.isBlank()) {
+                return detect();
+            }
+            return switch (value.trim().toUpperCase()) {
+                case "JDBC" -> JDBC;
+                case "CLI" -> CLI;
+                default -> throw new IllegalArgumentException("Unsupported database engine: " + value);
+            };
+        }
+
+        /**
+         * JDBC when sqlite-jdbc is on the classpath, otherwise the sqlite3 CLI. Callers that want to report
+         * the fallback do so themselves, so this stays quiet however often it is called.
+         */
+        public static EngineType detect() {
+            try {
+                Class.forName("org.sqlite.JDBC");
+                return JDBC;
+            } catch (ClassNotFoundException | LinkageError e) {
+                return CLI;
+            }
+        }
     }
 }
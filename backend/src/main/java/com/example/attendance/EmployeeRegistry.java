@@ -0,0 +1,61 @@
+package com.example.attendance;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable view of the employee table. Readers take the current snapshot without locking; writers build
+ * a new snapshot after their transaction commits and swap it in.
+ */
+final class EmployeeRegistry {
+    private volatile Snapshot snapshot;
+
+    EmployeeRegistry(Collection<EmployeeService.Employee> employees) {
+        this.snapshot = Snapshot.of(employees);
+    }
+
+    Snapshot snapshot() {
+        return snapshot;
+    }
+
+    synchronized void put(EmployeeService.Employee employee) {
+        Map<Long, EmployeeService.Employee> byId = new HashMap<>(snapshot.byId());
+        byId.put(employee.id(), employee);
+        snapshot = Snapshot.of(byId.values());
+    }
+
+    record Snapshot(Map<Long, EmployeeService.Employee> byId,
+                    Map<String, EmployeeService.Employee> byEnglishName,
+                    List<EmployeeService.Employee> employees,
+                    Json.Raw json,
+                    PrefixIndex<EmployeeService.Employee> nameIndex) {
+        static Snapshot of(Collection<EmployeeService.Employee> employees) {
+            List<EmployeeService.Employee> ordered = new ArrayList<>(employees);
+            ordered.sort(Comparator.comparingLong(EmployeeService.Employee::id));
+            Map<Long, EmployeeService.Employee> byId = new HashMap<>();
+            Map<String, EmployeeService.Employee> byEnglishName = new HashMap<>();
+            for (EmployeeService.Employee employee : ordered) {
+                byId.put(employee.id(), employee);
+                byEnglishName.put(employee.englishName().toLowerCase(), employee);
+            }
+            byte[] json = JsonWriter.toBytes(ordered);
+            PrefixIndex<EmployeeService.Employee> nameIndex = PrefixIndex.build(ordered,
+                    employee -> List.of(employee.englishName(), employee.chineseName()));
+            return new Snapshot(Map.copyOf(byId), Map.copyOf(byEnglishName), List.copyOf(ordered), new Json.Raw(json),
+                    nameIndex);
+        }
+
+        Optional<EmployeeService.Employee> findById(long id) {
+            return Optional.ofNullable(byId.get(id));
+        }
+
+        Optional<EmployeeService.Employee> findByEnglishName(String englishName) {
+            return Optional.ofNullable(byEnglishName.get(englishName.toLowerCase()));
+        }
+    }
+}
@@ -1,119 +1,137 @@
 package com.example.attendance;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.YearMonth;
-import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 public final class EmployeeService {
+    private static final int ANNUAL_LEAVE_CACHE_CAPACITY = 1024;
+    public static final int DEFAULT_SEARCH_LIMIT = 10;
+
     private final Database database;
+    private final Options options;
+    private final EmployeeRegistry registry;
+    private final AnnualLeaveCache<AnnualLeaveSummary> annualLeaveCache =
+            new AnnualLeaveCache<>(ANNUAL_LEAVE_CACHE_CAPACITY);
 
     public EmployeeService(Database database) {
+        this(database, Options.defaults());
+    }
+
+    public EmployeeService(Database database, Options options) {
         this.database = Objects.requireNonNull(database, "database");
+        this.options = Objects.requireNonNull(options, "options");
+        this.registry = new EmployeeRegistry(database.queryList(
+                "SELECT id, chinese_name, english_name, hire_date FROM employee;", this::mapEmployee));
     }
 
     public Employee createEmployee(String chineseName, String englishName, LocalDate hireDate) {
         requireNonBlank(chineseName, "Chinese name is required");
         requireNonBlank(englishName, "English name is required");
         Objects.requireNonNull(hireDate, "hireDate");
-        List<Map<String, String>> existing = database.query("SELECT id FROM employee WHERE LOWER(english_name)='" +
-                Database.escape(englishName.toLowerCase()) + "';");
-        if (!existing.isEmpty()) {
+        if (findByEnglishName(englishName).isPresent()) {
             throw new IllegalArgumentException("English name already exists");
         }
-        String sql = String.format("INSERT INTO employee (chinese_name, english_name, hire_date) " +
-                        "VALUES ('%s','%s','%s');",
-                Database.escape(chineseName), Database.escape(englishName), hireDate);
-        database.execute(sql);
-        long id = Long.parseLong(database.query("SELECT last_insert_rowid() AS id;").get(0).get("id"));
-        return new Employee(id, chineseName, englishName, hireDate);
+        long id = database.inTransaction(tx -> {
+            if (tx.queryFirst("SELECT id FROM employee WHERE LOWER(english_name)=?;",
+                    row -> row.getLong(1), englishName.toLowerCase()).isPresent()) {
+                throw new IllegalArgumentException("English name already exists");
+            }
+            return tx.insert("INSERT INTO employee (chinese_name, english_name, hire_date) " +
+                    "VALUES (?,?,?) RETURNING id;", chineseName, englishName, hireDate);
+        });
+        Employee employee = new Employee(id, chineseName, englishName, hireDate);
+        registry.put(employee);
+        return employee;
     }
 
     public List<Employee> listEmployees() {
-        List<Map<String, String>> rows = database.query(
-                "SELECT id, chinese_name, english_name, hire_date FROM employee ORDER BY id;");
-        List<Employee> employees = new ArrayList<>();
-        for (Map<String, String> row : rows) {
-            employees.add(mapEmployee(row));
-        }
-        return employees;
+        return registry.snapshot().employees();
+    }
+
+    public Json.Raw employeesJson() {
+        return registry.snapshot().json();
     }
 
     public Employee getEmployee(long id) {
-        List<Map<String, String>> rows = database.query(
-                "SELECT id, chinese_name, english_name, hire_date FROM employee WHERE id=" + id + ";");
-        if (rows.isEmpty()) {
-            throw new IllegalArgumentException("Employee not found");
-        }
-        return mapEmployee(rows.get(0));
+        return registry.snapshot().findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Employee not found"));
     }
 
     public Optional<Employee> findByEnglishName(String englishName) {
-        List<Map<String, String>> rows = database.query("SELECT id, chinese_name, english_name, hire_date FROM employee " +
-                "WHERE LOWER(english_name)='" + Database.escape(englishName.toLowerCase()) + "';");
-        if (rows.isEmpty()) {
-            return Optional.empty();
+        return registry.snapshot().findByEnglishName(englishName);
+    }
+
+    public List<Employee> searchEmployees(String query, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be greater than zero");
         }
-        return Optional.of(mapEmployee(rows.get(0)));
+        return registry.snapshot().nameIndex().search(query == null ? "" : query, Math.min(limit, options.maxSearchLimit()));
     }
 
     public AnnualLeaveSummary calculateAnnualLeave(long employeeId) {
-        Employee employee = getEmployee(employeeId);
-        LocalDate today = LocalDate.now();
-        LocalDate leaveYearStart = today.getMonthValue() >= 4
-                ? LocalDate.of(today.getYear(), 4, 1)
-                : LocalDate.of(today.getYear() - 1, 4, 1);
-        LocalDate leaveYearEnd = leaveYearStart.plusYears(1);
-
-        double monthlyAccrual = 1.0 / 12.0;
-        double baseMonthlyAccrual = 10.0 / 12.0;
-        double baseQuotaAccumulated = 0;
-        double monthlyAccrualAccumulated = 0;
+        LocalDate leaveYearStart = AnnualLeaveCache.leaveYearStart(LocalDate.now());
+        return annualLeaveCache.get(employeeId, leaveYearStart,
+                () -> calculateAnnualLeave(database, getEmployee(employeeId), leaveYearStart));
+    }
 
+    AnnualLeaveSummary calculateAnnualLeave(QueryRunner queries, Employee employee) {
+        return calculateAnnualLeave(queries, employee, AnnualLeaveCache.leaveYearStart(LocalDate.now()));
+    }
+
+    void invalidateAnnualLeave(long employeeId) {
+        annualLeaveCache.invalidate(employeeId);
+    }
+
+    public LruCache.Stats annualLeaveCacheStats() {
+        return annualLeaveCache.stats();
+    }
+
+    public List<EmployeeAnnualLeave> calculateAnnualLeaveForAll(Set<Long> employeeIds) {
+        LocalDate leaveYearStart = AnnualLeaveCache.leaveYearStart(LocalDate.now());
         YearMonth startMonth = YearMonth.from(leaveYearStart);
-        YearMonth endMonth = YearMonth.from(leaveYearEnd.minusMonths(1));
-        YearMonth current = startMonth;
-        while (!current.isAfter(endMonth)) {
-            LocalDate monthStartDate = current.atDay(1);
-            if (!monthStartDate.isBefore(employee.hireDate())) {
-                long monthsSinceHire = monthsBetween(employee.hireDate(), monthStartDate);
-                if (monthsSinceHire >= 6 && baseQuotaAccumulated < 10.0) {
-                    double add = Math.min(10.0 - baseQuotaAccumulated, baseMonthlyAccrual);
-                    baseQuotaAccumulated += add;
-                }
-                monthlyAccrualAccumulated += monthlyAccrual;
-            }
-            current = current.plusMonths(1);
+        int startEpochMonth = AnnualLeaveAccrual.epochMonth(startMonth.getYear(), startMonth.getMonthValue());
+        Map<Long, Double> usedHours = new HashMap<>();
+        database.forEachRow("SELECT employee_id, SUM(hours) FROM leave_hours_monthly " +
+                        "WHERE type=? AND month >= ? AND month < ? GROUP BY employee_id;",
+                row -> usedHours.put(row.getLong(1), row.getDouble(2)),
+                "ANNUAL", startMonth, startMonth.plusYears(1));
+        List<Employee> employees = listEmployees();
+        if (employeeIds != null) {
+            employees = employees.stream().filter(employee -> employeeIds.contains(employee.id())).toList();
         }
+        return employees.parallelStream()
+                .map(employee -> EmployeeAnnualLeave.of(employee,
+                        summarize(employee, startEpochMonth, usedHours.getOrDefault(employee.id(), 0.0))))
+                .toList();
+    }
 
-        double totalQuota = baseQuotaAccumulated + monthlyAccrualAccumulated;
-        LocalDateTime startDateTime = leaveYearStart.atStartOfDay();
-        LocalDateTime endDateTime = leaveYearEnd.atStartOfDay();
-        double usedHours = sumLeaveHours(employeeId, "ANNUAL", startDateTime, endDateTime);
+    private AnnualLeaveSummary calculateAnnualLeave(QueryRunner queries, Employee employee, LocalDate leaveYearStart) {
+        YearMonth startMonth = YearMonth.from(leaveYearStart);
+        double usedHours = sumLeaveHours(queries, employee.id(), "ANNUAL", startMonth, startMonth.plusYears(1));
+        return summarize(employee, AnnualLeaveAccrual.epochMonth(startMonth.getYear(), startMonth.getMonthValue()),
+                usedHours);
+    }
+
+    private AnnualLeaveSummary summarize(Employee employee, int leaveYearStart, double usedHours) {
+        LocalDate hireDate = employee.hireDate();
+        double totalQuota = AnnualLeaveAccrual.totalQuotaDays(
+                AnnualLeaveAccrual.epochMonth(hireDate.getYear(), hireDate.getMonthValue()),
+                hireDate.getDayOfMonth(), leaveYearStart);
         double usedDays = usedHours / 8.0;
         double remaining = Math.max(0, totalQuota - usedDays);
         return new AnnualLeaveSummary(round(totalQuota), round(usedDays), round(remaining));
     }
 
-    double sumLeaveHours(long employeeId, String type, LocalDateTime start, LocalDateTime end) {
-        String sql = String.format("SELECT IFNULL(SUM(hours),0) AS total FROM leave_request WHERE employee_id=%d " +
-                        "AND type='%s' AND start_time >= '%s' AND start_time < '%s';",
-                employeeId, Database.escape(type), start, end);
-        List<Map<String, String>> rows = database.query(sql);
-        if (rows.isEmpty()) {
-            return 0;
-        }
-        return Double.parseDouble(rows.get(0).getOrDefault("total", "0"));
-    }
-
-    private long monthsBetween(LocalDate startInclusive, LocalDate monthStart) {
-        YearMonth start = YearMonth.from(startInclusive.withDayOfMonth(1));
-        YearMonth end = YearMonth.from(monthStart.withDayOfMonth(1));
-        return (end.getYear() - start.getYear()) * 12L + (end.getMonthValue() - start.getMonthValue());
+    double sumLeaveHours(QueryRunner queries, long employeeId, String type, YearMonth from, YearMonth toExclusive) {
+        return queries.queryFirst("SELECT IFNULL(SUM(hours),0) AS total FROM leave_hours_monthly " +
+                        "WHERE employee_id=? AND type=? AND month >= ? AND month < ?;",
+                row -> row.getDouble(1), employeeId, type, from, toExclusive).orElse(0.0);
     }
 
     private double round(double value) {
@@ -126,9 +144,25 @@ public final class EmployeeService {
         }
     }
 
-    private Employee mapEmployee(Map<String, String> row) {
-        return new Employee(Long.parseLong(row.get("id")), row.get("chinese_name"),
-                row.get("english_name"), LocalDate.parse(row.get("hire_date")));
+    private Employee mapEmployee(Database.Row row) {
+        return new Employee(row.getLong(1), row.getString(2), row.getString(3), row.getLocalDate(4));
+    }
+
+    public record Options(int maxSearchLimit) {
+        public Options {
+            if (maxSearchLimit <= 0) {
+                throw new IllegalArgumentException("Maximum search limit must be greater than zero");
+            }
+        }
+
+        public static Options defaults() {
+            return new Options(50);
+        }
+
+        public static Options fromSystemProperties() {
+            Options defaults = defaults();
+            return new Options(Integer.getInteger("attendance.search.maxLimit", defaults.maxSearchLimit()));
+        }
     }
 
     public record Employee(long id, String chineseName, String englishName, LocalDate hireDate) {
@@ -136,4 +170,12 @@ public final class EmployeeService {
 
     public record AnnualLeaveSummary(double totalQuota, double usedDays, double remainingDays) {
     }
+
+    public record EmployeeAnnualLeave(long id, String chineseName, String englishName, double totalQuota,
+                                      double usedDays, double remainingDays) {
+        static EmployeeAnnualLeave of(Employee employee, AnnualLeaveSummary summary) {
+            return new EmployeeAnnualLeave(employee.id(), employee.chineseName(), employee.englishName(),
+                    summary.totalQuota(), summary.usedDays(), summary.remainingDays());
+        }
+    }
 }
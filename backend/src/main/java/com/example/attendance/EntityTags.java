@@ -0,0 +1,75 @@
+package com.example.attendance;
+
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Strong entity tags derived from the data version instead of the response body, so a conditional request
+ * can be answered before any query runs. Each process gets its own epoch because the version counter
+ * restarts from zero. A compressed body is a different representation, so it carries the tag with its content
+ * coding appended; {@link #matching} accepts either form.
+ */
+public final class EntityTags {
+    private static final List<String> CODINGS = List.of("gzip", "deflate");
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final LongSupplier version;
+
+    public EntityTags(LongSupplier version) {
+        this.version = version;
+    }
+
+    public String of(Object... parts) {
+        StringBuilder tag = new StringBuilder("\"").append(epoch).append('-').append(version.getAsLong());
+        for (Object part : parts) {
+            tag.append('-').append(part);
+        }
+        return tag.append('"').toString();
+    }
+
+    /**
+     * The tag of {@code entityTag}'s representation in the given content coding, e.g. {@code "…-gzip"}.
+     */
+    public static String encoded(String entityTag, String coding) {
+        return entityTag.substring(0, entityTag.length() - 1) + '-' + coding + '"';
+    }
+
+    public static boolean matches(String ifNoneMatch, String entityTag) {
+        return matching(ifNoneMatch, entityTag) != null;
+    }
+
+    /**
+     * The tag from {@code ifNoneMatch} that names {@code entityTag} in any content coding, or {@code null} when
+     * none does. A wildcard yields {@code entityTag} itself.
+     */
+    public static String matching(String ifNoneMatch, String entityTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return null;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*")) {
+                return entityTag;
+            }
+            if (namesRepresentation(tag, entityTag)) {
+                return tag;
+            }
+        }
+        return null;
+    }
+
+    private static boolean namesRepresentation(String tag, String entityTag) {
+        if (tag.equals(entityTag)) {
+            return true;
+        }
+        for (String coding : CODINGS) {
+            if (tag.equals(encoded(entityTag, coding))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
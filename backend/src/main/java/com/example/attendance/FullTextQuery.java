@@ -0,0 +1,26 @@
+package com.example.attendance;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Turns free text into an FTS5 MATCH expression in which every word must appear as a token prefix.
+ * Each word is quoted, so FTS5 operators and punctuation typed by users are treated as plain text.
+ */
+public final class FullTextQuery {
+    private FullTextQuery() {
+    }
+
+    public static String prefixTerms(String text) {
+        List<String> terms = new ArrayList<>();
+        for (String word : text.trim().split("\\s+")) {
+            if (!word.isEmpty()) {
+                terms.add("\"" + word.replace("\"", "\"\"") + "\"*");
+            }
+        }
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Search text is required");
+        }
+        return String.join(" ", terms);
+    }
+}
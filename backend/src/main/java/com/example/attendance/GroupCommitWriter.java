@@ -0,0 +1,203 @@
+package com.example.attendance;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Owns the writer connection and applies queued writes on a single thread. Writes that arrive
+ * together share one transaction (and one fsync); each runs inside its own savepoint so a failing
+ * write is rolled back without affecting the rest of the group.
+ */
+final class GroupCommitWriter implements AutoCloseable {
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final SqliteConnection connection;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final BlockingQueue<PendingWrite<?>> queue = new LinkedBlockingQueue<>();
+    private final AtomicLong commits = new AtomicLong();
+    private final AtomicLong writes = new AtomicLong();
+    private final Thread thread;
+    private final Object lifecycle = new Object();
+    private volatile boolean running = true;
+    private volatile int largestBatch;
+
+    GroupCommitWriter(SqliteConnection connection, int maxBatchSize, long maxWaitMillis) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Group commit batch size must be greater than zero");
+        }
+        this.connection = connection;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxWaitMillis));
+        this.thread = new Thread(this::run, "attendance-db-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Queues {@code operation} for the writer thread. Submitting from the writer thread itself, for example from
+     * inside a transaction's work, is refused: the writer would wait on its own queue forever.
+     */
+    <T> CompletableFuture<T> submit(WriteOperation<T> operation) {
+        if (Thread.currentThread() == thread) {
+            throw new IllegalStateException("Writes inside a transaction must go through its Transaction");
+        }
+        CompletableFuture<T> future = new CompletableFuture<>();
+        synchronized (lifecycle) {
+            if (!running) {
+                throw new IllegalStateException("Database writer is closed");
+            }
+            queue.add(new PendingWrite<>(operation, future));
+        }
+        return future;
+    }
+
+    long generation() {
+        return commits.get();
+    }
+
+    Database.WriterStats stats() {
+        return new Database.WriterStats(commits.get(), writes.get(), largestBatch, queue.size());
+    }
+
+    @Override
+    public void close() {
+        synchronized (lifecycle) {
+            running = false;
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        connection.close();
+    }
+
+    /**
+     * Runs until closed and the queue is drained. Whatever ends the loop, submissions are refused afterwards and
+     * anything still queued is failed, so no caller waits on a writer that is gone.
+     */
+    private void run() {
+        List<PendingWrite<?>> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                try {
+                    PendingWrite<?> first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    fillBatch(batch);
+                    commit(batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Throwable e) {
+                    rollback();
+                    batch.forEach(pending -> pending.future().completeExceptionally(e));
+                } finally {
+                    batch.clear();
+                }
+            }
+        } finally {
+            synchronized (lifecycle) {
+                running = false;
+            }
+            PendingWrite<?> orphan;
+            while ((orphan = queue.poll()) != null) {
+                orphan.future().completeExceptionally(new IllegalStateException("Database writer is closed"));
+            }
+        }
+    }
+
+    private void fillBatch(List<PendingWrite<?>> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + maxWaitNanos;
+        while (batch.size() < maxBatchSize) {
+            PendingWrite<?> next = queue.poll();
+            if (next == null) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return;
+                }
+                next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    return;
+                }
+            }
+            batch.add(next);
+        }
+    }
+
+    private void commit(List<PendingWrite<?>> batch) {
+        try {
+            connection.execute("BEGIN IMMEDIATE;");
+        } catch (SQLException e) {
+            batch.forEach(pending -> pending.future().completeExceptionally(e));
+            return;
+        }
+        Object[] results = new Object[batch.size()];
+        Throwable[] failures = new Throwable[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                connection.execute("SAVEPOINT group_write;");
+                results[i] = batch.get(i).operation().apply(connection);
+                connection.execute("RELEASE group_write;");
+            } catch (Throwable e) {
+                failures[i] = e;
+                rollbackSavepoint();
+            }
+        }
+        try {
+            connection.execute("COMMIT;");
+        } catch (SQLException e) {
+            rollback();
+            batch.forEach(pending -> pending.future().completeExceptionally(e));
+            return;
+        }
+        commits.incrementAndGet();
+        writes.addAndGet(batch.size());
+        largestBatch = Math.max(largestBatch, batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            if (failures[i] != null) {
+                batch.get(i).future().completeExceptionally(failures[i]);
+            } else {
+                batch.get(i).complete(results[i]);
+            }
+        }
+    }
+
+    private void rollbackSavepoint() {
+        try {
+            connection.execute("ROLLBACK TO group_write;");
+            connection.execute("RELEASE group_write;");
+        } catch (SQLException ignored) {
+            // the enclosing transaction reports the failure on COMMIT
+        }
+    }
+
+    private void rollback() {
+        try {
+            connection.execute("ROLLBACK;");
+        } catch (SQLException ignored) {
+            // nothing left to undo
+        }
+    }
+
+    @FunctionalInterface
+    interface WriteOperation<T> {
+        T apply(SqliteConnection connection) throws SQLException;
+    }
+
+    private record PendingWrite<T>(WriteOperation<T> operation, CompletableFuture<T> future) {
+        @SuppressWarnings("unchecked")
+        void complete(Object result) {
+            future.complete((T) result);
+        }
+    }
+}
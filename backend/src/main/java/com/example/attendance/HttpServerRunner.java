@@ -10,106 +10,198 @@ import java.io.OutputStream;
 import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 
 public final class HttpServerRunner {
-    private final int port;
+    private static final System.Logger LOGGER = System.getLogger(HttpServerRunner.class.getName());
+    /**
+     * Set while an exchange that was refused admission runs on the dispatcher thread.
+     */
+    private static final ThreadLocal<Boolean> OVERLOADED = new ThreadLocal<>();
+    private final Options options;
+    private final Semaphore inFlight;
+    private final Database database;
     private final AuthService authService;
     private final EmployeeService employeeService;
     private final LeaveRequestService leaveService;
-    private final List<Route> routes;
+    private final RouteTrie<Route> routes;
+    private final EntityTags entityTags;
+    private HttpServer server;
+    private ExecutorService executor;
 
-    public HttpServerRunner(int port, AuthService authService, EmployeeService employeeService,
-                             LeaveRequestService leaveService) {
-        this.port = port;
+    public HttpServerRunner(Options options, Database database, AuthService authService,
+                            EmployeeService employeeService, LeaveRequestService leaveService) {
+        this.options = Objects.requireNonNull(options, "options");
+        this.inFlight = options.maxInFlight() > 0 ? new Semaphore(options.maxInFlight()) : null;
+        this.database = database;
         this.authService = authService;
         this.employeeService = employeeService;
         this.leaveService = leaveService;
+        this.entityTags = new EntityTags(database::writeGeneration);
         this.routes = createRoutes();
     }
 
-    public void start() throws IOException {
-        HttpServer server = HttpServer.create(new InetSocketAddress(port), 0);
-        server.createContext("/", new RoutingHandler());
-        server.setExecutor(Executors.newCachedThreadPool());
-        server.start();
+    public synchronized void start() throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("Server already started");
+        }
+        HttpServer created = HttpServer.create(new InetSocketAddress(options.port()), options.backlog());
+        created.createContext("/", new RoutingHandler());
+        executor = createExecutor();
+        created.setExecutor(inFlight != null ? new AdmissionExecutor(executor, inFlight) : executor);
+        created.start();
+        server = created;
+    }
+
+    /**
+     * The bound address, which tells the actual port when the server was started on port 0.
+     */
+    public synchronized InetSocketAddress address() {
+        if (server == null) {
+            throw new IllegalStateException("Server not started");
+        }
+        return server.getAddress();
+    }
+
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdown();
+            server = null;
+            executor = null;
+        }
+    }
+
+    private ExecutorService createExecutor() {
+        return switch (options.mode()) {
+            case CACHED -> Executors.newCachedThreadPool();
+            case BOUNDED -> Executors.newFixedThreadPool(options.threads());
+            case VIRTUAL -> newVirtualThreadPerTaskExecutor();
+        };
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Virtual threads require Java 21 or later", e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create virtual thread executor", e);
+        }
     }
 
-    private List<Route> createRoutes() {
+    private RouteTrie<Route> createRoutes() {
         List<Route> list = new ArrayList<>();
         list.add(new Route("POST", "/api/auth/login", false, null, (body, params, query, user) -> {
-            String username = body.getOrDefault("username", "").toString();
-            String password = body.getOrDefault("password", "").toString();
-            return authService.login(username, password)
-                    .map(result -> Map.of("token", result.token(), "role", result.role()))
+            LoginRequest login = body.readDocument(LoginRequest.class);
+            return authService.login(Objects.toString(login.username(), ""), Objects.toString(login.password(), ""))
                     .orElseThrow(() -> new IllegalArgumentException("Invalid credentials"));
         }));
-        list.add(new Route("GET", "/api/employees", true, null, (body, params, query, user) -> {
-            List<Map<String, Object>> result = new ArrayList<>();
-            for (EmployeeService.Employee employee : employeeService.listEmployees()) {
-                Map<String, Object> item = new LinkedHashMap<>();
-                item.put("id", employee.id());
-                item.put("chineseName", employee.chineseName());
-                item.put("englishName", employee.englishName());
-                item.put("hireDate", employee.hireDate().toString());
-                result.add(item);
+        list.add(new Route("GET", "/api/employees", true, null,
+                (body, params, query, user) -> employeeService.employeesJson(),
+                params -> entityTags.of("employees")));
+        list.add(new Route("POST", "/api/employees", true, "ADMIN", (body, params, query, user) -> {
+            NewEmployee employee = body.readDocument(NewEmployee.class);
+            if (employee.hireDate() == null) {
+                throw new IllegalArgumentException("Hire date is required");
             }
-            return result;
+            return employeeService.createEmployee(Objects.toString(employee.chineseName(), ""),
+                    Objects.toString(employee.englishName(), ""), employee.hireDate());
         }));
-        list.add(new Route("POST", "/api/employees", true, "ADMIN", (body, params, query, user) -> {
-            String chineseName = body.getOrDefault("chineseName", "").toString();
-            String englishName = body.getOrDefault("englishName", "").toString();
-            String hireDate = body.getOrDefault("hireDate", "").toString();
-            EmployeeService.Employee employee = employeeService
-                    .createEmployee(chineseName, englishName, LocalDate.parse(hireDate));
-            return Map.of(
-                    "id", employee.id(),
-                    "chineseName", employee.chineseName(),
-                    "englishName", employee.englishName(),
-                    "hireDate", employee.hireDate().toString()
-            );
+        list.add(new Route("GET", "/api/employees/search", true, null, (body, params, query, user) -> {
+            String limit = query.get("limit");
+            int max = limit == null || limit.isBlank() ? EmployeeService.DEFAULT_SEARCH_LIMIT : Integer.parseInt(limit);
+            return employeeService.searchEmployees(query.get("q"), max);
         }));
-        list.add(new Route("GET", "/api/employees/{id}/annual-leave", true, null, (body, params, query, user) -> {
-            long id = Long.parseLong(params.get("id"));
-            EmployeeService.AnnualLeaveSummary summary = employeeService.calculateAnnualLeave(id);
-            return Map.of(
-                    "totalQuota", summary.totalQuota(),
-                    "usedDays", summary.usedDays(),
-                    "remainingDays", summary.remainingDays()
-            );
+        list.add(new Route("GET", "/api/employees/annual-leave", true, null, (body, params, query, user) -> {
+            Set<Long> ids = null;
+            String idsParam = query.get("ids");
+            if (idsParam != null && !idsParam.isBlank()) {
+                ids = new HashSet<>();
+                for (String id : idsParam.split(",")) {
+                    ids.add(Long.parseLong(id.trim()));
+                }
+            }
+            return employeeService.calculateAnnualLeaveForAll(ids);
         }));
+        list.add(new Route("GET", "/api/employees/{id:long}/annual-leave", true, null, (body, params, query, user) -> {
+            return employeeService.calculateAnnualLeave(params.getLong("id"));
+        }, params -> entityTags.of("annual-leave", params.getLong("id"),
+                AnnualLeaveCache.leaveYearStart(LocalDate.now()))));
         list.add(new Route("POST", "/api/leave-requests", true, null, (body, params, query, user) -> {
             LeaveRequestService.LeaveRequest request = leaveService.createLeaveRequest(body);
-            return Map.of(
-                    "id", request.id(),
-                    "englishName", request.employee().englishName(),
-                    "type", request.type().name(),
-                    "startTime", request.startTime().toString(),
-                    "endTime", request.endTime().toString(),
-                    "hours", request.hours()
-            );
+            return new CreatedLeaveRequest(request.id(), request.employee().englishName(), request.type(),
+                    request.startTime(), request.endTime(), request.hours());
         }));
-        list.add(new Route("GET", "/api/leave-requests", true, null, (body, params, query, user) -> {
-            LeaveRequestService.PagedResult result = leaveService.listLeaveRequests(query);
-            return Map.of(
-                    "content", result.items(),
-                    "page", result.page(),
-                    "size", result.size(),
-                    "totalElements", result.total()
-            );
+        list.add(new Route("GET", "/api/leave-requests", true, null,
+                (body, params, query, user) -> leaveService.listLeaveRequests(query)));
+        list.add(new Route("GET", "/api/metrics", true, "ADMIN", (body, params, query, user) -> {
+            Database.StatementCacheStats statements = database.statementCacheStats();
+            Map<String, Object> statementCache = new LinkedHashMap<>();
+            statementCache.put("hits", statements.hits());
+            statementCache.put("misses", statements.misses());
+            statementCache.put("evictions", statements.evictions());
+            statementCache.put("size", statements.size());
+            statementCache.put("hitRate", statements.hitRate());
+            Database.WriterStats writes = database.writerStats();
+            Map<String, Object> writer = new LinkedHashMap<>();
+            writer.put("commits", writes.commits());
+            writer.put("writes", writes.writes());
+            writer.put("largestBatch", writes.largestBatch());
+            writer.put("queued", writes.queued());
+            return Map.of("statementCache", statementCache, "writer", writer,
+                    "leaveCountCache", cacheMetrics(leaveService.countCacheStats()),
+                    "annualLeaveCache", cacheMetrics(employeeService.annualLeaveCacheStats()),
+                    "tokenCache", cacheMetrics(authService.tokenCacheStats()));
         }));
-        return List.copyOf(list);
+        RouteTrie<Route> trie = new RouteTrie<>();
+        for (Route route : list) {
+            trie.add(route.method(), route.pathPattern(), route);
+        }
+        List.of(LoginRequest.class, AuthService.LoginResult.class, NewEmployee.class, EmployeeService.Employee.class,
+                EmployeeService.AnnualLeaveSummary.class, EmployeeService.EmployeeAnnualLeave.class,
+                CreatedLeaveRequest.class, LeaveRequestService.PagedResult.class,
+                LeaveRequestService.LeaveRequestItem.class).forEach(RecordCodec::of);
+        return trie;
+    }
+
+    private static Map<String, Object> cacheMetrics(LruCache.Stats stats) {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("hits", stats.hits());
+        metrics.put("misses", stats.misses());
+        metrics.put("evictions", stats.evictions());
+        metrics.put("size", stats.size());
+        metrics.put("hitRate", stats.hitRate());
+        return metrics;
     }
 
     private final class RoutingHandler implements HttpHandler {
         @Override
         public void handle(HttpExchange exchange) throws IOException {
+            if (OVERLOADED.get() != null) {
+                exchange.getResponseHeaders().add("Retry-After", Integer.toString(options.retryAfterSeconds()));
+                sendJson(exchange, 503, Map.of("message", "Server busy"));
+                return;
+            }
+            dispatch(exchange);
+        }
+
+        private void dispatch(HttpExchange exchange) throws IOException {
             try {
                 String method = exchange.getRequestMethod();
                 String path = exchange.getRequestURI().getPath();
@@ -117,37 +209,65 @@ public final class HttpServerRunner {
                     handleOptions(exchange);
                     return;
                 }
-                Route route = findRoute(method, path);
-                if (route == null) {
+                RouteTrie.Match<Route> match = routes.find(method, path);
+                if (match == null) {
                     sendJson(exchange, 404, Map.of("message", "Not found"));
                     return;
                 }
+                Route route = match.value();
                 AuthenticatedUser user = null;
-                if (route.requiresAuth) {
+                if (route.requiresAuth()) {
                     user = authenticate(exchange.getRequestHeaders());
                     if (user == null) {
                         sendJson(exchange, 401, Map.of("message", "Unauthorized"));
                         return;
                     }
-                    if (route.requiredRole != null && !route.requiredRole.equals(user.role())) {
+                    if (route.requiredRole() != null && !route.requiredRole().equals(user.role())) {
                         sendJson(exchange, 403, Map.of("message", "Forbidden"));
                         return;
                     }
                 }
-                Map<String, String> pathParams = route.extractParams(path);
+                String entityTag = route.entityTag() != null ? route.entityTag().tag(match.params()) : null;
+                String matchedTag = entityTag != null
+                        ? EntityTags.matching(exchange.getRequestHeaders().getFirst("If-None-Match"), entityTag)
+                        : null;
+                if (matchedTag != null) {
+                    sendNotModified(exchange, matchedTag);
+                    return;
+                }
                 Map<String, String> queryParams = parseQuery(exchange.getRequestURI().getRawQuery());
-                String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
-                Map<String, Object> jsonBody = body.isBlank() ? Map.of() : Json.parseObject(body);
-                Object response = route.handler.handle(jsonBody, pathParams, queryParams, user);
+                String declaredLength = exchange.getRequestHeaders().getFirst("Content-Length");
+                if (declaredLength != null && Long.parseLong(declaredLength.trim()) > options.maxBodyBytes()) {
+                    throw new JsonReader.BodyTooLargeException(options.maxBodyBytes());
+                }
+                JsonReader body = new JsonReader(exchange.getRequestBody(), options.maxBodyBytes());
+                Object response = route.handler().handle(body, match.params(), queryParams, user);
+                if (entityTag != null) {
+                    exchange.getResponseHeaders().add("ETag", entityTag);
+                }
                 sendJson(exchange, 200, response);
+            } catch (JsonReader.BodyTooLargeException e) {
+                sendJson(exchange, 413, Map.of("message", e.getMessage()));
             } catch (IllegalArgumentException e) {
                 sendJson(exchange, 400, Map.of("message", e.getMessage()));
             } catch (Exception e) {
-                e.printStackTrace();
+                LOGGER.log(System.Logger.Level.ERROR, "Request " + exchange.getRequestMethod() + " "
+                        + exchange.getRequestURI().getPath() + " failed", e);
                 sendJson(exchange, 500, Map.of("message", "Internal server error"));
             }
         }
 
+        private void sendNotModified(HttpExchange exchange, String entityTag) throws IOException {
+            Headers headers = exchange.getResponseHeaders();
+            headers.add("ETag", entityTag);
+            headers.add("Access-Control-Allow-Origin", "*");
+            if (options.compressionLevel() > 0) {
+                headers.add("Vary", "Accept-Encoding");
+            }
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+        }
+
         private void handleOptions(HttpExchange exchange) throws IOException {
             Headers headers = exchange.getResponseHeaders();
             headers.add("Access-Control-Allow-Origin", "*");
@@ -167,13 +287,14 @@ public final class HttpServerRunner {
         }
 
         private void sendJson(HttpExchange exchange, int status, Object payload) throws IOException {
-            byte[] bytes = Json.toJson(payload).getBytes(StandardCharsets.UTF_8);
             Headers headers = exchange.getResponseHeaders();
             headers.add("Content-Type", "application/json; charset=utf-8");
             headers.add("Access-Control-Allow-Origin", "*");
-            exchange.sendResponseHeaders(status, bytes.length);
-            try (OutputStream os = exchange.getResponseBody()) {
-                os.write(bytes);
+            if (options.compressionLevel() > 0) {
+                headers.add("Vary", "Accept-Encoding");
+            }
+            try (JsonWriter writer = new JsonWriter(new ResponseBody(exchange, status))) {
+                writer.value(payload);
             }
         }
 
@@ -202,70 +323,223 @@ public final class HttpServerRunner {
             return java.net.URLDecoder.decode(value, StandardCharsets.UTF_8);
         }
 
-        private Route findRoute(String method, String path) {
-            for (Route route : routes) {
-                if (route.matches(method, path)) {
-                    return route;
+    }
+
+    /**
+     * Response body that sends headers on first use. A body written in a single piece is sent with a
+     * Content-Length; anything larger goes out chunked as it is produced. Compression is negotiated once the
+     * size is known to exceed the threshold, and a compressed body gets its own entity tag.
+     */
+    private final class ResponseBody extends OutputStream {
+        private final HttpExchange exchange;
+        private final int status;
+        private byte[] pending;
+        private OutputStream target;
+
+        ResponseBody(HttpExchange exchange, int status) {
+            this.exchange = exchange;
+            this.status = status;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (target != null) {
+                target.write(bytes, offset, length);
+                return;
+            }
+            if (pending == null) {
+                pending = Arrays.copyOfRange(bytes, offset, offset + length);
+                return;
+            }
+            start(-1);
+            target.write(pending);
+            pending = null;
+            target.write(bytes, offset, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (target == null) {
+                byte[] body = pending != null ? pending : new byte[0];
+                start(body.length);
+                target.write(body);
+                pending = null;
+            }
+            target.close();
+        }
+
+        private void start(long length) throws IOException {
+            ContentEncoding encoding = ContentEncoding.IDENTITY;
+            if (options.compressionLevel() > 0 && (length < 0 || length >= options.compressionMinBytes())) {
+                encoding = ContentEncoding.negotiate(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+            }
+            if (encoding == ContentEncoding.IDENTITY) {
+                exchange.sendResponseHeaders(status, length < 0 ? 0 : length == 0 ? -1 : length);
+            } else {
+                Headers headers = exchange.getResponseHeaders();
+                headers.add("Content-Encoding", encoding.token());
+                String entityTag = headers.getFirst("ETag");
+                if (entityTag != null) {
+                    headers.set("ETag", EntityTags.encoded(entityTag, encoding.token()));
                 }
+                exchange.sendResponseHeaders(status, 0);
             }
-            return null;
+            target = encoding.wrap(exchange.getResponseBody(), options.compressionLevel());
         }
     }
 
     private record AuthenticatedUser(String username, String role) {
     }
 
+    private record LoginRequest(String username, String password) {
+    }
+
+    private record NewEmployee(String chineseName, String englishName, LocalDate hireDate) {
+    }
+
+    private record CreatedLeaveRequest(long id, String englishName, LeaveRequestService.LeaveType type,
+                                       LocalDateTime startTime, LocalDateTime endTime, double hours) {
+    }
+
     private interface RouteHandler {
-        Object handle(Map<String, Object> body, Map<String, String> pathParams,
+        Object handle(JsonReader body, RouteTrie.PathParams pathParams,
                        Map<String, String> queryParams, AuthenticatedUser user);
     }
 
-    private static final class Route {
-        private final String method;
-        private final String pathPattern;
-        private final boolean requiresAuth;
-        private final String requiredRole;
-        private final RouteHandler handler;
-        private final String[] segments;
+    /**
+     * Takes an in-flight permit before an exchange is handed to the pool, so excess requests are refused at
+     * once instead of waiting in the pool's queue. A refused exchange runs on the dispatcher thread, where the
+     * handler only answers 503 + Retry-After.
+     */
+    private static final class AdmissionExecutor implements Executor {
+        private final Executor delegate;
+        private final Semaphore permits;
+
+        AdmissionExecutor(Executor delegate, Semaphore permits) {
+            this.delegate = delegate;
+            this.permits = permits;
+        }
+
+        @Override
+        public void execute(Runnable exchange) {
+            if (!permits.tryAcquire()) {
+                OVERLOADED.set(Boolean.TRUE);
+                try {
+                    exchange.run();
+                } finally {
+                    OVERLOADED.remove();
+                }
+                return;
+            }
+            try {
+                delegate.execute(() -> {
+                    try {
+                        exchange.run();
+                    } finally {
+                        permits.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                permits.release();
+                throw e;
+            }
+        }
+    }
+
+    private interface EntityTagSupplier {
+        String tag(RouteTrie.PathParams pathParams);
+    }
 
+    private record Route(String method, String pathPattern, boolean requiresAuth, String requiredRole,
+                         RouteHandler handler, EntityTagSupplier entityTag) {
         Route(String method, String pathPattern, boolean requiresAuth, String requiredRole, RouteHandler handler) {
-            this.method = method;
-            this.pathPattern = pathPattern;
-            this.requiresAuth = requiresAuth;
-            this.requiredRole = requiredRole;
-            this.handler = handler;
-            this.segments = pathPattern.split("/");
+            this(method, pathPattern, requiresAuth, requiredRole, handler, null);
         }
+    }
 
-        boolean matches(String requestMethod, String requestPath) {
-            if (!method.equalsIgnoreCase(requestMethod)) {
-                return false;
+    public record Options(int port, int backlog, ExecutionMode mode, int threads, int maxInFlight,
+                          int retryAfterSeconds, int compressionMinBytes, int compressionLevel, long maxBodyBytes) {
+        public static final int UNBOUNDED_MAX_IN_FLIGHT = 256;
+
+        public Options {
+            Objects.requireNonNull(mode, "mode");
+            if (port < 0 || port > 65535) {
+                throw new IllegalArgumentException("Port must be between 0 and 65535");
             }
-            String[] pathSegments = requestPath.split("/");
-            if (pathSegments.length != segments.length) {
-                return false;
+            if (backlog < 0) {
+                throw new IllegalArgumentException("Backlog must not be negative");
             }
-            for (int i = 0; i < segments.length; i++) {
-                if (segments[i].startsWith("{")) {
-                    continue;
-                }
-                if (!segments[i].equals(pathSegments[i])) {
-                    return false;
-                }
+            if (threads <= 0) {
+                throw new IllegalArgumentException("Thread count must be greater than zero");
+            }
+            if (maxInFlight < 0) {
+                throw new IllegalArgumentException("Max in-flight requests must not be negative");
+            }
+            if (mode == ExecutionMode.BOUNDED && (maxInFlight == 0 || maxInFlight > threads)) {
+                throw new IllegalArgumentException("Max in-flight requests must be between 1 and the thread count "
+                        + "in bounded mode, otherwise requests queue for a thread instead of being refused");
+            }
+            if (retryAfterSeconds <= 0) {
+                throw new IllegalArgumentException("Retry-After must be greater than zero");
+            }
+            if (compressionMinBytes < 0) {
+                throw new IllegalArgumentException("Compression threshold must not be negative");
+            }
+            if (compressionLevel < 0 || compressionLevel > 9) {
+                throw new IllegalArgumentException("Compression level must be between 0 and 9");
+            }
+            if (maxBodyBytes <= 0) {
+                throw new IllegalArgumentException("Maximum body size must be greater than zero");
             }
-            return true;
         }
 
-        Map<String, String> extractParams(String path) {
-            String[] pathSegments = path.split("/");
-            Map<String, String> params = new HashMap<>();
-            for (int i = 0; i < segments.length; i++) {
-                if (segments[i].startsWith("{")) {
-                    String key = segments[i].substring(1, segments[i].length() - 1);
-                    params.put(key, pathSegments[i]);
-                }
+        public static Options defaults() {
+            int threads = Math.max(8, Runtime.getRuntime().availableProcessors() * 2);
+            return new Options(8080, 0, ExecutionMode.BOUNDED, threads, threads, 1, 1024, 6, 1024 * 1024);
+        }
+
+        /**
+         * Unset limits follow the mode: a bounded pool admits as many requests as it has threads, the
+         * unbounded modes admit {@link #UNBOUNDED_MAX_IN_FLIGHT}.
+         */
+        public static Options fromSystemProperties() {
+            Options defaults = defaults();
+            ExecutionMode mode = ExecutionMode.from(System.getProperty("attendance.http.mode"));
+            int threads = Integer.getInteger("attendance.http.threads", defaults.threads());
+            return new Options(
+                    Integer.getInteger("attendance.http.port", defaults.port()),
+                    Integer.getInteger("attendance.http.backlog", defaults.backlog()),
+                    mode,
+                    threads,
+                    Integer.getInteger("attendance.http.maxInFlight",
+                            mode == ExecutionMode.BOUNDED ? threads : UNBOUNDED_MAX_IN_FLIGHT),
+                    Integer.getInteger("attendance.http.retryAfterSeconds", defaults.retryAfterSeconds()),
+                    Integer.getInteger("attendance.http.compression.minBytes", defaults.compressionMinBytes()),
+                    Integer.getInteger("attendance.http.compression.level", defaults.compressionLevel()),
+                    Long.getLong("attendance.http.maxBodyBytes", defaults.maxBodyBytes()));
+        }
+    }
+
+    public enum ExecutionMode {
+        CACHED,
+        BOUNDED,
+        VIRTUAL;
+
+        public static ExecutionMode from(String value) {
+            if (value == null || value.isBlank()) {
+                return BOUNDED;
             }
-            return params;
+            return switch (value.trim().toUpperCase()) {
+                case "CACHED" -> CACHED;
+                case "BOUNDED" -> BOUNDED;
+                case "VIRTUAL" -> VIRTUAL;
+                default -> throw new IllegalArgumentException("Unsupported execution mode: " + value);
+            };
         }
     }
 }
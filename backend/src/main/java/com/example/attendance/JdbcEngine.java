@@ -0,0 +1,148 @@
+package com.example.attendance;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+
+final class JdbcEngine implements SqlEngine {
+    private final SqliteConnection writerConnection;
+    private final GroupCommitWriter writer;
+    private final List<SqliteConnection> readerConnections;
+    private final BlockingQueue<SqliteConnection> readers;
+
+    JdbcEngine(Path databaseFile, Database.Options options) {
+        int statementCacheSize = options.statementCacheSize();
+        int readerConnections = options.readerConnections();
+        this.writerConnection = SqliteConnection.openWriter(databaseFile, statementCacheSize);
+        this.writer = new GroupCommitWriter(writerConnection,
+                options.groupCommitMaxBatch(), options.groupCommitMaxWaitMillis());
+        List<SqliteConnection> opened = new ArrayList<>();
+        for (int i = 0; i < readerConnections; i++) {
+            opened.add(SqliteConnection.openReader(databaseFile, statementCacheSize));
+        }
+        this.readerConnections = List.copyOf(opened);
+        this.readers = new ArrayBlockingQueue<>(readerConnections, false, opened);
+    }
+
+    @Override
+    public void execute(String sql, Object... params) {
+        Database.await(writer.submit(connection -> {
+            connection.execute(sql, params);
+            return null;
+        }));
+    }
+
+    @Override
+    public void executeScript(List<String> statements) {
+        Database.await(writer.submit(connection -> {
+            for (String statement : statements) {
+                connection.execute(statement);
+            }
+            return null;
+        }));
+    }
+
+    @Override
+    public CompletableFuture<Long> insertAsync(String sql, Object... params) {
+        return writer.submit(connection -> connection.insert(sql, params));
+    }
+
+    @Override
+    public List<Map<String, String>> query(String sql, Object... params) {
+        SqliteConnection reader = borrowReader();
+        try {
+            return reader.query(sql, params);
+        } catch (SQLException e) {
+            throw new IllegalStateException("SQLite error: " + e.getMessage(), e);
+        } finally {
+            readers.add(reader);
+        }
+    }
+
+    @Override
+    public void forEachRow(String sql, Object[] params, Database.RowCallback callback) {
+        SqliteConnection reader = borrowReader();
+        try {
+            reader.forEachRow(sql, params, callback);
+        } catch (SQLException e) {
+            throw new IllegalStateException("SQLite error: " + e.getMessage(), e);
+        } finally {
+            readers.add(reader);
+        }
+    }
+
+    @Override
+    public <T> T inTransaction(Database.TransactionWork<T> work) {
+        return Database.await(writer.submit(connection -> work.run(new WriterTransaction(connection))));
+    }
+
+    @Override
+    public Database.StatementCacheStats statementCacheStats() {
+        long hits = 0;
+        long misses = 0;
+        long evictions = 0;
+        int size = 0;
+        List<SqliteConnection> all = new ArrayList<>(readerConnections);
+        all.add(writerConnection);
+        for (SqliteConnection connection : all) {
+            Database.StatementCacheStats stats = connection.statementCacheStats();
+            hits += stats.hits();
+            misses += stats.misses();
+            evictions += stats.evictions();
+            size += stats.size();
+        }
+        return new Database.StatementCacheStats(hits, misses, evictions, size);
+    }
+
+    @Override
+    public Database.WriterStats writerStats() {
+        return writer.stats();
+    }
+
+    @Override
+    public long writeGeneration() {
+        return writer.generation();
+    }
+
+    @Override
+    public void close() {
+        for (SqliteConnection reader : readerConnections) {
+            reader.close();
+        }
+        writer.close();
+    }
+
+    private record WriterTransaction(SqliteConnection connection) implements Database.Transaction {
+        @Override
+        public void execute(String sql, Object... params) {
+            try {
+                connection.execute(sql, params);
+            } catch (SQLException e) {
+                throw new IllegalStateException("SQLite error: " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public void forEachRow(String sql, Database.RowCallback callback, Object... params) {
+            try {
+                connection.forEachRow(sql, params, callback);
+            } catch (SQLException e) {
+                throw new IllegalStateException("SQLite error: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    private SqliteConnection borrowReader() {
+        try {
+            return readers.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a database connection", e);
+        }
+    }
+}
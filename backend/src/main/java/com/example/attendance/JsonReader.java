@@ -0,0 +1,542 @@
+package com.example.attendance;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Pull parser that reads JSON straight from UTF-8 bytes. Callers step through tokens with {@link #peek()}
+ * and the {@code next*} methods, or read whole values with {@link #readValue()}. Reading past
+ * {@code maxBytes} fails with {@link BodyTooLargeException}; malformed input fails with
+ * {@link IllegalArgumentException}.
+ */
+public final class JsonReader implements Closeable {
+    private static final int BUFFER_SIZE = 8192;
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_OBJECT = 2;
+    private static final int NONEMPTY_OBJECT = 3;
+    private static final int DANGLING_NAME = 4;
+    private static final int EMPTY_ARRAY = 5;
+    private static final int NONEMPTY_ARRAY = 6;
+
+    private final InputStream in;
+    private final long maxBytes;
+    private final byte[] buffer;
+    private int position;
+    private int limit;
+    private long consumed;
+    private int[] stack = new int[16];
+    private int depth = 1;
+    private Token peeked;
+    private char[] chars = new char[64];
+
+    public JsonReader(InputStream in, long maxBytes) {
+        this(Objects.requireNonNull(in, "in"), maxBytes, new byte[BUFFER_SIZE], 0);
+    }
+
+    private JsonReader(InputStream in, long maxBytes, byte[] buffer, int limit) {
+        this.in = in;
+        this.maxBytes = maxBytes;
+        this.buffer = buffer;
+        this.limit = limit;
+        stack[0] = EMPTY_DOCUMENT;
+    }
+
+    /**
+     * Reads straight from {@code utf8}, which must not change while the reader is in use.
+     */
+    public static JsonReader of(byte[] utf8) {
+        return new JsonReader(InputStream.nullInputStream(), Long.MAX_VALUE, utf8, utf8.length);
+    }
+
+    public enum Token {
+        BEGIN_OBJECT,
+        END_OBJECT,
+        BEGIN_ARRAY,
+        END_ARRAY,
+        NAME,
+        STRING,
+        NUMBER,
+        BOOLEAN,
+        NULL,
+        END_DOCUMENT
+    }
+
+    public Token peek() {
+        if (peeked != null) {
+            return peeked;
+        }
+        int context = stack[depth - 1];
+        switch (context) {
+            case EMPTY_ARRAY -> {
+                stack[depth - 1] = NONEMPTY_ARRAY;
+                if (peekNonWhitespace() == ']') {
+                    position++;
+                    return peeked = Token.END_ARRAY;
+                }
+            }
+            case NONEMPTY_ARRAY -> {
+                int c = nextNonWhitespace();
+                if (c == ']') {
+                    return peeked = Token.END_ARRAY;
+                }
+                if (c != ',') {
+                    throw syntaxError("Expected ',' or ']'", c);
+                }
+            }
+            case EMPTY_OBJECT, NONEMPTY_OBJECT -> {
+                stack[depth - 1] = DANGLING_NAME;
+                int c = nextNonWhitespace();
+                if (c == '}') {
+                    return peeked = Token.END_OBJECT;
+                }
+                if (context == NONEMPTY_OBJECT) {
+                    if (c != ',') {
+                        throw syntaxError("Expected ',' or '}'", c);
+                    }
+                    c = nextNonWhitespace();
+                }
+                if (c != '"') {
+                    throw syntaxError("Expected a field name", c);
+                }
+                return peeked = Token.NAME;
+            }
+            case DANGLING_NAME -> {
+                stack[depth - 1] = NONEMPTY_OBJECT;
+                int c = nextNonWhitespace();
+                if (c != ':') {
+                    throw syntaxError("Expected ':'", c);
+                }
+            }
+            case EMPTY_DOCUMENT -> stack[depth - 1] = NONEMPTY_DOCUMENT;
+            default -> {
+                int c = peekNonWhitespace();
+                if (c == -1) {
+                    return peeked = Token.END_DOCUMENT;
+                }
+                throw syntaxError("Unexpected trailing content", c);
+            }
+        }
+        int c = peekNonWhitespace();
+        switch (c) {
+            case '{' -> {
+                position++;
+                return peeked = Token.BEGIN_OBJECT;
+            }
+            case '[' -> {
+                position++;
+                return peeked = Token.BEGIN_ARRAY;
+            }
+            case '"' -> {
+                position++;
+                return peeked = Token.STRING;
+            }
+            case 't', 'f' -> {
+                return peeked = Token.BOOLEAN;
+            }
+            case 'n' -> {
+                return peeked = Token.NULL;
+            }
+            case -1 -> throw new IllegalArgumentException("Unexpected end of input");
+            default -> {
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    return peeked = Token.NUMBER;
+                }
+                throw syntaxError("Unexpected character", c);
+            }
+        }
+    }
+
+    public boolean hasNext() {
+        Token token = peek();
+        return token != Token.END_OBJECT && token != Token.END_ARRAY && token != Token.END_DOCUMENT;
+    }
+
+    public void beginObject() {
+        consume(Token.BEGIN_OBJECT);
+        push(EMPTY_OBJECT);
+    }
+
+    public void endObject() {
+        consume(Token.END_OBJECT);
+        depth--;
+    }
+
+    public void beginArray() {
+        consume(Token.BEGIN_ARRAY);
+        push(EMPTY_ARRAY);
+    }
+
+    public void endArray() {
+        consume(Token.END_ARRAY);
+        depth--;
+    }
+
+    public String nextName() {
+        consume(Token.NAME);
+        return readString();
+    }
+
+    public String nextString() {
+        consume(Token.STRING);
+        return readString();
+    }
+
+    public boolean nextBoolean() {
+        consume(Token.BOOLEAN);
+        if (peekByte() == 't') {
+            expectLiteral("true");
+            return true;
+        }
+        expectLiteral("false");
+        return false;
+    }
+
+    public void nextNull() {
+        consume(Token.NULL);
+        expectLiteral("null");
+    }
+
+    /**
+     * Reads a number using the full JSON grammar. Integers that fit in a {@code long} come back as
+     * {@link Long}, everything else as {@link Double}.
+     */
+    public Number nextNumber() {
+        consume(Token.NUMBER);
+        int length = 0;
+        boolean integral = true;
+        int c = peekByte();
+        if (c == '-') {
+            length = take(length, c);
+            c = peekByte();
+        }
+        if (c == '0') {
+            length = take(length, c);
+            c = peekByte();
+        } else if (c >= '1' && c <= '9') {
+            do {
+                length = take(length, c);
+                c = peekByte();
+            } while (c >= '0' && c <= '9');
+        } else {
+            throw syntaxError("Invalid number", c);
+        }
+        if (c == '.') {
+            integral = false;
+            length = take(length, c);
+            length = appendDigits(length);
+            c = peekByte();
+        }
+        if (c == 'e' || c == 'E') {
+            integral = false;
+            length = take(length, c);
+            c = peekByte();
+            if (c == '+' || c == '-') {
+                length = take(length, c);
+            }
+            length = appendDigits(length);
+        }
+        String number = new String(chars, 0, length);
+        if (integral) {
+            try {
+                return Long.parseLong(number);
+            } catch (NumberFormatException e) {
+                return Double.parseDouble(number);
+            }
+        }
+        return Double.parseDouble(number);
+    }
+
+    public long nextLong() {
+        Number number = nextNumber();
+        if (number instanceof Long value) {
+            return value;
+        }
+        double value = number.doubleValue();
+        if (value != Math.rint(value) || value < Long.MIN_VALUE || value >= 0x1p63) {
+            throw new IllegalArgumentException("Expected an integer but found " + number);
+        }
+        return (long) value;
+    }
+
+    public double nextDouble() {
+        return nextNumber().doubleValue();
+    }
+
+    public void skipValue() {
+        readValue();
+    }
+
+    public Object readValue() {
+        return switch (peek()) {
+            case BEGIN_OBJECT -> readObject();
+            case BEGIN_ARRAY -> {
+                List<Object> list = new ArrayList<>();
+                beginArray();
+                while (hasNext()) {
+                    list.add(readValue());
+                }
+                endArray();
+                yield list;
+            }
+            case STRING -> nextString();
+            case NUMBER -> nextNumber();
+            case BOOLEAN -> nextBoolean();
+            case NULL -> {
+                nextNull();
+                yield null;
+            }
+            default -> throw new IllegalArgumentException("Expected a value but found " + peek());
+        };
+    }
+
+    public Map<String, Object> readObject() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        beginObject();
+        while (hasNext()) {
+            String name = nextName();
+            result.put(name, readValue());
+        }
+        endObject();
+        return result;
+    }
+
+    /**
+     * Reads a request body holding a single object. An empty body reads as an empty object.
+     */
+    public Map<String, Object> readDocumentObject() {
+        if (depth == 1 && peekNonWhitespace() == -1) {
+            return new LinkedHashMap<>();
+        }
+        Map<String, Object> result = readObject();
+        endDocument();
+        return result;
+    }
+
+    /**
+     * Reads a request body holding a single object into a record. An empty body reads as a record with every
+     * component left at its default.
+     */
+    public <T extends Record> T readDocument(Class<T> type) {
+        RecordCodec<T> codec = RecordCodec.of(type);
+        if (depth == 1 && peekNonWhitespace() == -1) {
+            return codec.empty();
+        }
+        T result = codec.read(this);
+        endDocument();
+        return result;
+    }
+
+    public void endDocument() {
+        consume(Token.END_DOCUMENT);
+    }
+
+    @Override
+    public void close() {
+        try {
+            in.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void consume(Token expected) {
+        Token token = peek();
+        if (token != expected) {
+            throw new IllegalArgumentException("Expected " + expected + " but found " + token);
+        }
+        peeked = null;
+    }
+
+    private void push(int context) {
+        if (depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth * 2);
+        }
+        stack[depth++] = context;
+    }
+
+    private String readString() {
+        int length = 0;
+        while (true) {
+            if (position == limit && !fill()) {
+                throw new IllegalArgumentException("Unterminated string");
+            }
+            int b = buffer[position++] & 0xFF;
+            if (b == '"') {
+                return new String(chars, 0, length);
+            }
+            if (b == '\\') {
+                length = append(length, readEscape());
+            } else if (b < 0x80) {
+                length = append(length, b);
+            } else {
+                length = appendMultiByte(length, b);
+            }
+        }
+    }
+
+    private int readEscape() {
+        int escaped = nextByte();
+        return switch (escaped) {
+            case '"', '\\', '/' -> escaped;
+            case 'b' -> '\b';
+            case 'f' -> '\f';
+            case 'n' -> '\n';
+            case 'r' -> '\r';
+            case 't' -> '\t';
+            case 'u' -> {
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(nextByte(), 16);
+                    if (digit < 0) {
+                        throw new IllegalArgumentException("Invalid unicode escape");
+                    }
+                    value = (value << 4) | digit;
+                }
+                yield value;
+            }
+            default -> throw new IllegalArgumentException("Invalid escape sequence: " + (char) escaped);
+        };
+    }
+
+    private int appendMultiByte(int length, int lead) {
+        int codePoint;
+        int continuation;
+        if (lead >= 0xC2 && lead <= 0xDF) {
+            codePoint = lead & 0x1F;
+            continuation = 1;
+        } else if (lead >= 0xE0 && lead <= 0xEF) {
+            codePoint = lead & 0x0F;
+            continuation = 2;
+        } else if (lead >= 0xF0 && lead <= 0xF4) {
+            codePoint = lead & 0x07;
+            continuation = 3;
+        } else {
+            throw new IllegalArgumentException("Invalid UTF-8 sequence");
+        }
+        for (int i = 0; i < continuation; i++) {
+            int b = nextByte();
+            if ((b & 0xC0) != 0x80) {
+                throw new IllegalArgumentException("Invalid UTF-8 sequence");
+            }
+            codePoint = (codePoint << 6) | (b & 0x3F);
+        }
+        if (codePoint > Character.MAX_CODE_POINT || (continuation == 2 && codePoint < 0x800)
+                || (continuation == 3 && codePoint < 0x10000)
+                || (codePoint <= 0xFFFF && Character.isSurrogate((char) codePoint))) {
+            throw new IllegalArgumentException("Invalid UTF-8 sequence");
+        }
+        if (codePoint >= Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+            length = append(length, Character.highSurrogate(codePoint));
+            return append(length, Character.lowSurrogate(codePoint));
+        }
+        return append(length, codePoint);
+    }
+
+    private int appendDigits(int length) {
+        int c = peekByte();
+        if (c < '0' || c > '9') {
+            throw syntaxError("Invalid number", c);
+        }
+        do {
+            length = take(length, c);
+            c = peekByte();
+        } while (c >= '0' && c <= '9');
+        return length;
+    }
+
+    private int append(int length, int c) {
+        if (length == chars.length) {
+            chars = Arrays.copyOf(chars, length * 2);
+        }
+        chars[length] = (char) c;
+        return length + 1;
+    }
+
+    private int take(int length, int c) {
+        position++;
+        return append(length, c);
+    }
+
+    private void expectLiteral(String literal) {
+        for (int i = 0; i < literal.length(); i++) {
+            if (nextByte() != literal.charAt(i)) {
+                throw new IllegalArgumentException("Expected " + literal);
+            }
+        }
+    }
+
+    private int nextNonWhitespace() {
+        int c = peekNonWhitespace();
+        if (c != -1) {
+            position++;
+        }
+        return c;
+    }
+
+    private int peekNonWhitespace() {
+        while (true) {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            int c = buffer[position] & 0xFF;
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                return c;
+            }
+            position++;
+        }
+    }
+
+    private int peekByte() {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position] & 0xFF;
+    }
+
+    private int nextByte() {
+        if (position == limit && !fill()) {
+            throw new IllegalArgumentException("Unexpected end of input");
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    private boolean fill() {
+        try {
+            int read = in.read(buffer, 0, buffer.length);
+            if (read <= 0) {
+                return false;
+            }
+            consumed += read;
+            if (consumed > maxBytes) {
+                throw new BodyTooLargeException(maxBytes);
+            }
+            position = 0;
+            limit = read;
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private IllegalArgumentException syntaxError(String message, int c) {
+        return new IllegalArgumentException(c == -1 ? "Unexpected end of input"
+                : message + " but found '" + (char) c + "'");
+    }
+
+    public static final class BodyTooLargeException extends IllegalArgumentException {
+        private static final long serialVersionUID = 1L;
+
+        public BodyTooLargeException(long maxBytes) {
+            super("Request body exceeds " + maxBytes + " bytes");
+        }
+    }
+}
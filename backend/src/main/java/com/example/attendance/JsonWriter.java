@@ -0,0 +1,436 @@
+package com.example.attendance;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Writes JSON as UTF-8 straight into a fixed buffer that is handed to the underlying stream whenever it
+ * fills up, so no intermediate strings are built. Besides the values {@link Json#toJson(Object)} has always
+ * accepted, records are written through their {@link RecordCodec}, enums by name and dates in ISO form.
+ */
+public final class JsonWriter implements Closeable {
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+    /**
+     * Room for the largest fixed-width token written in one piece: a quoted {@link LocalDateTime} takes 32 bytes.
+     */
+    private static final int MIN_BUFFER_SIZE = 64;
+    private static final byte[] HEX = "0123456789abcdef".getBytes();
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+    private static final boolean[] ESCAPED = new boolean[128];
+
+    static {
+        for (int c = 0; c < 0x20; c++) {
+            ESCAPED[c] = true;
+        }
+        ESCAPED['"'] = true;
+        ESCAPED['\\'] = true;
+    }
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private int position;
+    private boolean needsComma;
+
+    public JsonWriter(OutputStream out) {
+        this(out, DEFAULT_BUFFER_SIZE);
+    }
+
+    public JsonWriter(OutputStream out, int bufferSize) {
+        this.out = Objects.requireNonNull(out, "out");
+        this.buffer = new byte[Math.max(bufferSize, MIN_BUFFER_SIZE)];
+    }
+
+    public static byte[] toBytes(Object value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (JsonWriter writer = new JsonWriter(bytes, 1024)) {
+            writer.value(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public JsonWriter value(Object value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        if (value instanceof Json.Raw raw) {
+            return rawValue(raw.utf8());
+        }
+        if (value instanceof String s) {
+            return value(s);
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return value(((Number) value).longValue());
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return asciiValue(value.toString());
+        }
+        if (value instanceof LocalDate date) {
+            return value(date);
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return value(dateTime);
+        }
+        if (value instanceof Enum<?> constant) {
+            return value(constant.name());
+        }
+        if (value instanceof Record record) {
+            writeRecord(record);
+            return this;
+        }
+        if (value instanceof Map<?, ?> map) {
+            beginObject();
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                name(Objects.toString(entry.getKey()));
+                value(entry.getValue());
+            }
+            return endObject();
+        }
+        if (value instanceof List<?> list) {
+            beginArray();
+            for (Object element : list) {
+                value(element);
+            }
+            return endArray();
+        }
+        throw new IllegalArgumentException("Unsupported JSON value: " + value.getClass());
+    }
+
+    public JsonWriter beginObject() throws IOException {
+        separate();
+        writeByte('{');
+        needsComma = false;
+        return this;
+    }
+
+    public JsonWriter endObject() throws IOException {
+        writeByte('}');
+        needsComma = true;
+        return this;
+    }
+
+    public JsonWriter beginArray() throws IOException {
+        separate();
+        writeByte('[');
+        needsComma = false;
+        return this;
+    }
+
+    public JsonWriter endArray() throws IOException {
+        writeByte(']');
+        needsComma = true;
+        return this;
+    }
+
+    public JsonWriter name(String name) throws IOException {
+        separate();
+        writeString(name);
+        writeByte(':');
+        needsComma = false;
+        return this;
+    }
+
+    /**
+     * Writes a member name already encoded as {@code "name":} in UTF-8.
+     */
+    public JsonWriter name(byte[] encodedName) throws IOException {
+        separate();
+        writeBytes(encodedName, 0, encodedName.length);
+        needsComma = false;
+        return this;
+    }
+
+    public JsonWriter value(String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        separate();
+        writeString(value);
+        needsComma = true;
+        return this;
+    }
+
+    public JsonWriter value(long value) throws IOException {
+        separate();
+        if (value == Long.MIN_VALUE) {
+            writeAscii(Long.toString(value));
+        } else {
+            if (value < 0) {
+                writeByte('-');
+                value = -value;
+            }
+            writeDigits(value);
+        }
+        needsComma = true;
+        return this;
+    }
+
+    public JsonWriter value(double value) throws IOException {
+        return asciiValue(Double.toString(value));
+    }
+
+    /**
+     * Writes the date as {@link LocalDate#toString()} would, without building the string.
+     */
+    public JsonWriter value(LocalDate value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        separate();
+        ensure(12);
+        buffer[position++] = '"';
+        if (!writeDate(value)) {
+            writeAscii(value.toString());
+        }
+        writeByte('"');
+        needsComma = true;
+        return this;
+    }
+
+    /**
+     * Writes the date-time as {@link LocalDateTime#toString()} would, without building the string.
+     */
+    public JsonWriter value(LocalDateTime value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        separate();
+        ensure(32);
+        buffer[position++] = '"';
+        if (writeDate(value.toLocalDate())) {
+            buffer[position++] = 'T';
+            writeTime(value.getHour(), value.getMinute(), value.getSecond(), value.getNano());
+        } else {
+            writeAscii(value.toString());
+        }
+        writeByte('"');
+        needsComma = true;
+        return this;
+    }
+
+    public JsonWriter value(boolean value) throws IOException {
+        return rawValue(value ? TRUE : FALSE);
+    }
+
+    public JsonWriter nullValue() throws IOException {
+        return rawValue(NULL);
+    }
+
+    public JsonWriter rawValue(byte[] utf8) throws IOException {
+        separate();
+        writeBytes(utf8, 0, utf8.length);
+        needsComma = true;
+        return this;
+    }
+
+    private JsonWriter asciiValue(String ascii) throws IOException {
+        separate();
+        writeAscii(ascii);
+        needsComma = true;
+        return this;
+    }
+
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBuffer();
+        } finally {
+            out.close();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Record> void writeRecord(T record) throws IOException {
+        RecordCodec.of((Class<T>) record.getClass()).write(this, record);
+    }
+
+    private void separate() throws IOException {
+        if (needsComma) {
+            writeByte(',');
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        writeByte('"');
+        int length = value.length();
+        int i = 0;
+        while (i < length) {
+            int runEnd = i;
+            while (runEnd < length) {
+                char c = value.charAt(runEnd);
+                if (c >= 0x80 || ESCAPED[c]) {
+                    break;
+                }
+                runEnd++;
+            }
+            writeAscii(value, i, runEnd);
+            if (runEnd == length) {
+                break;
+            }
+            char c = value.charAt(runEnd);
+            i = runEnd + 1;
+            if (c < 0x80) {
+                writeEscape(c);
+            } else if (c < 0x800) {
+                ensure(2);
+                buffer[position++] = (byte) (0xC0 | (c >> 6));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i < length && Character.isLowSurrogate(value.charAt(i))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(i++));
+                ensure(4);
+                buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                writeByte('?');
+            } else {
+                ensure(3);
+                buffer[position++] = (byte) (0xE0 | (c >> 12));
+                buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        writeByte('"');
+    }
+
+    private void writeEscape(char c) throws IOException {
+        ensure(6);
+        buffer[position++] = '\\';
+        switch (c) {
+            case '"' -> buffer[position++] = '"';
+            case '\\' -> buffer[position++] = '\\';
+            case '\b' -> buffer[position++] = 'b';
+            case '\f' -> buffer[position++] = 'f';
+            case '\n' -> buffer[position++] = 'n';
+            case '\r' -> buffer[position++] = 'r';
+            case '\t' -> buffer[position++] = 't';
+            default -> {
+                buffer[position++] = 'u';
+                buffer[position++] = '0';
+                buffer[position++] = '0';
+                buffer[position++] = HEX[c >> 4];
+                buffer[position++] = HEX[c & 0xF];
+            }
+        }
+    }
+
+    private boolean writeDate(LocalDate date) {
+        int year = date.getYear();
+        if (year < 1000 || year > 9999) {
+            return false;
+        }
+        writeFixed(year, 4);
+        buffer[position++] = '-';
+        writeFixed(date.getMonthValue(), 2);
+        buffer[position++] = '-';
+        writeFixed(date.getDayOfMonth(), 2);
+        return true;
+    }
+
+    private void writeTime(int hour, int minute, int second, int nano) {
+        writeFixed(hour, 2);
+        buffer[position++] = ':';
+        writeFixed(minute, 2);
+        if (second > 0 || nano > 0) {
+            buffer[position++] = ':';
+            writeFixed(second, 2);
+            if (nano > 0) {
+                buffer[position++] = '.';
+                if (nano % 1_000_000 == 0) {
+                    writeFixed(nano / 1_000_000, 3);
+                } else if (nano % 1000 == 0) {
+                    writeFixed(nano / 1000, 6);
+                } else {
+                    writeFixed(nano, 9);
+                }
+            }
+        }
+    }
+
+    private void writeFixed(int value, int digits) {
+        for (int i = position + digits - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position += digits;
+    }
+
+    private void writeDigits(long value) throws IOException {
+        ensure(20);
+        int start = position;
+        do {
+            buffer[position++] = (byte) ('0' + (value % 10));
+            value /= 10;
+        } while (value != 0);
+        for (int left = start, right = position - 1; left < right; left++, right--) {
+            byte swap = buffer[left];
+            buffer[left] = buffer[right];
+            buffer[right] = swap;
+        }
+    }
+
+    private void writeAscii(String value) throws IOException {
+        writeAscii(value, 0, value.length());
+    }
+
+    private void writeAscii(String value, int from, int to) throws IOException {
+        while (from < to) {
+            if (position == buffer.length) {
+                flushBuffer();
+            }
+            int count = Math.min(to - from, buffer.length - position);
+            for (int i = 0; i < count; i++) {
+                buffer[position++] = (byte) value.charAt(from++);
+            }
+        }
+    }
+
+    private void writeBytes(byte[] bytes, int offset, int length) throws IOException {
+        if (length > buffer.length - position) {
+            flushBuffer();
+            if (length > buffer.length) {
+                out.write(bytes, offset, length);
+                return;
+            }
+        }
+        System.arraycopy(bytes, offset, buffer, position, length);
+        position += length;
+    }
+
+    private void writeByte(char c) throws IOException {
+        if (position == buffer.length) {
+            flushBuffer();
+        }
+        buffer[position++] = (byte) c;
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.length - position < bytes) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
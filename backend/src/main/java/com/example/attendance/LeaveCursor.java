@@ -0,0 +1,36 @@
+package com.example.attendance;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Opaque keyset position in the leave request listing, which is ordered by
+ * {@code start_time DESC, id DESC}. The next page holds the rows strictly after this one.
+ */
+public record LeaveCursor(LocalDateTime startTime, long id) {
+    public LeaveCursor {
+        Objects.requireNonNull(startTime, "startTime");
+    }
+
+    public String encode() {
+        byte[] raw = (startTime + "|" + id).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    public static LeaveCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new LeaveCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -1,16 +1,19 @@
 package com.example.attendance;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
 public final class LeaveRequestService {
+    private static final int COUNT_CACHE_CAPACITY = 256;
+
     private final Database database;
     private final EmployeeService employeeService;
+    private final LruCache<String, Long> totals = new LruCache<>(COUNT_CACHE_CAPACITY);
 
     public LeaveRequestService(Database database, EmployeeService employeeService) {
         this.database = Objects.requireNonNull(database, "database");
@@ -18,11 +21,39 @@ public final class LeaveRequestService {
     }
 
     public LeaveRequest createLeaveRequest(Map<String, Object> payload) {
-        String englishName = asString(payload.get("englishName"));
-        String type = asString(payload.get("type"));
-        LocalDateTime start = LocalDateTime.parse(asString(payload.get("startTime")));
-        LocalDateTime end = LocalDateTime.parse(asString(payload.get("endTime")));
-        double hours = asDouble(payload.get("hours"));
+        return createLeaveRequest(payload.get("englishName"), payload.get("type"), payload.get("startTime"),
+                payload.get("endTime"), payload.get("hours"));
+    }
+
+    public LeaveRequest createLeaveRequest(JsonReader body) {
+        Object englishName = null;
+        Object type = null;
+        Object startTime = null;
+        Object endTime = null;
+        Object hours = null;
+        body.beginObject();
+        while (body.hasNext()) {
+            switch (body.nextName()) {
+                case "englishName" -> englishName = body.readValue();
+                case "type" -> type = body.readValue();
+                case "startTime" -> startTime = body.readValue();
+                case "endTime" -> endTime = body.readValue();
+                case "hours" -> hours = body.readValue();
+                default -> body.skipValue();
+            }
+        }
+        body.endObject();
+        body.endDocument();
+        return createLeaveRequest(englishName, type, startTime, endTime, hours);
+    }
+
+    private LeaveRequest createLeaveRequest(Object englishNameValue, Object typeValue, Object startTimeValue,
+                                            Object endTimeValue, Object hoursValue) {
+        String englishName = asString(englishNameValue);
+        String type = asString(typeValue);
+        LocalDateTime start = LocalDateTime.parse(asString(startTimeValue));
+        LocalDateTime end = LocalDateTime.parse(asString(endTimeValue));
+        double hours = asDouble(hoursValue);
 
         if (hours < 1.0) {
             throw new IllegalArgumentException("Minimum leave duration is 1 hour");
@@ -40,18 +71,20 @@ public final class LeaveRequestService {
             throw new IllegalArgumentException("End time must not be before start time");
         }
 
+        LeaveType leaveType = LeaveType.from(type);
         EmployeeService.Employee employee = employeeService.findByEnglishName(englishName)
                 .orElseThrow(() -> new IllegalArgumentException("Employee not found"));
-
-        LeaveType leaveType = LeaveType.from(type);
-        validateLeaveQuota(employee, leaveType, start, hours);
-
-        String sql = String.format("INSERT INTO leave_request (employee_id, type, start_time, end_time, hours, created_at) " +
-                        "VALUES (%d,'%s','%s','%s',%s,'%s');",
-                employee.id(), leaveType.name(), start, end, hours, LocalDateTime.now());
-        database.execute(sql);
-        long id = Long.parseLong(database.query("SELECT last_insert_rowid() AS id;").get(0).get("id"));
-        return new LeaveRequest(id, employee, leaveType, start, end, hours);
+        LeaveRequest created = database.inTransaction(tx -> {
+            validateLeaveQuota(tx, employee, leaveType, start, hours);
+            long id = tx.insert("INSERT INTO leave_request (employee_id, type, start_time, end_time, hours, created_at) " +
+                            "VALUES (?,?,?,?,?,?) RETURNING id;",
+                    employee.id(), leaveType, start, end, hours, LocalDateTime.now());
+            return new LeaveRequest(id, employee, leaveType, start, end, hours);
+        });
+        if (leaveType == LeaveType.ANNUAL) {
+            employeeService.invalidateAnnualLeave(employee.id());
+        }
+        return created;
     }
 
     public PagedResult listLeaveRequests(Map<String, String> filters) {
@@ -60,62 +93,106 @@ public final class LeaveRequestService {
         if (size <= 0) {
             throw new IllegalArgumentException("Page size must be greater than zero");
         }
-        int offset = Math.max(page, 0) * size;
+        LeaveCursor after = filters.containsKey("after") ? LeaveCursor.decode(filters.get("after")) : null;
+        int offset = after != null ? 0 : Math.max(page, 0) * size;
+        boolean withTotal = !"false".equalsIgnoreCase(filters.get("withTotal"));
 
         StringBuilder where = new StringBuilder("WHERE 1=1");
+        List<Object> params = new ArrayList<>();
+        String text = filters.get("q");
+        boolean textSearch = text != null && !text.isBlank();
+        if (textSearch && after != null) {
+            throw new IllegalArgumentException("Cursor paging is not supported with q");
+        }
+        if (textSearch) {
+            where.append(" AND leave_request_fts MATCH ?");
+            params.add(FullTextQuery.prefixTerms(text));
+        }
         filters.computeIfPresent("englishName", (k, v) -> {
-            where.append(" AND LOWER(e.english_name)='" + Database.escape(v.toLowerCase()) + "'");
+            where.append(" AND LOWER(e.english_name)=?");
+            params.add(v.toLowerCase());
             return v;
         });
         filters.computeIfPresent("type", (k, v) -> {
-            where.append(" AND lr.type='" + Database.escape(v.toUpperCase()) + "'");
+            where.append(" AND lr.type=?");
+            params.add(v.toUpperCase());
             return v;
         });
         filters.computeIfPresent("start", (k, v) -> {
-            where.append(" AND lr.start_time >= '" + Database.escape(v) + "'");
+            where.append(" AND lr.start_time >= ?");
+            params.add(v);
             return v;
         });
         filters.computeIfPresent("end", (k, v) -> {
-            where.append(" AND lr.end_time <= '" + Database.escape(v) + "'");
+            where.append(" AND lr.end_time <= ?");
+            params.add(v);
             return v;
         });
 
-        String baseQuery = " FROM leave_request lr JOIN employee e ON lr.employee_id = e.id " + where;
-        String dataSql = "SELECT lr.id, e.chinese_name, e.english_name, lr.type, lr.start_time, lr.end_time, lr.hours, lr.created_at"
-                + baseQuery + " ORDER BY lr.start_time DESC LIMIT " + size + " OFFSET " + offset + ";";
+        String baseQuery = " FROM leave_request lr JOIN employee e ON lr.employee_id = e.id "
+                + (textSearch ? "JOIN leave_request_fts ON leave_request_fts.rowid = lr.id " : "") + where;
         String countSql = "SELECT COUNT(*) AS total" + baseQuery + ";";
+        Object[] filterParams = params.toArray();
+        String seek = "";
+        if (after != null) {
+            seek = " AND lr.start_time <= ? AND (lr.start_time < ? OR lr.id < ?)";
+            params.add(after.startTime());
+            params.add(after.startTime());
+            params.add(after.id());
+        }
+        String dataSql = "SELECT lr.id, e.chinese_name, e.english_name, lr.type, lr.start_time, lr.end_time, lr.hours, lr.created_at"
+                + baseQuery + seek + " ORDER BY " + (textSearch ? "leave_request_fts.rank, " : "")
+                + "lr.start_time DESC, lr.id DESC LIMIT ? OFFSET ?;";
+        params.add(size + 1);
+        params.add(offset);
+
+        List<LeaveRequestItem> items = new ArrayList<>();
+        database.forEachRow(dataSql, row -> items.add(new LeaveRequestItem(row.getLong(1), row.getString(2),
+                row.getString(3), LeaveType.valueOf(row.getString(4)), row.getLocalDateTime(5),
+                row.getLocalDateTime(6), row.getDouble(7), row.getLocalDateTime(8))), params.toArray());
+        String nextCursor = null;
+        if (items.size() > size) {
+            items.remove(size);
+            if (!textSearch) {
+                LeaveRequestItem last = items.get(size - 1);
+                nextCursor = new LeaveCursor(last.startTime(), last.id()).encode();
+            }
+        }
+        Long total = null;
+        if (withTotal) {
+            total = items.isEmpty() && after == null && offset == 0 ? 0 : countLeaveRequests(countSql, filterParams);
+        }
+        return new PagedResult(items, page, size, total, nextCursor);
+    }
 
-        List<Map<String, String>> rows = database.query(dataSql);
-        List<Map<String, Object>> items = new ArrayList<>();
-        for (Map<String, String> row : rows) {
-            Map<String, Object> item = new LinkedHashMap<>();
-            item.put("id", Long.parseLong(row.get("id")));
-            item.put("chineseName", row.get("chinese_name"));
-            item.put("englishName", row.get("english_name"));
-            item.put("type", row.get("type"));
-            item.put("startTime", row.get("start_time"));
-            item.put("endTime", row.get("end_time"));
-            item.put("hours", Double.parseDouble(row.get("hours")));
-            item.put("createdAt", row.get("created_at"));
-            items.add(item);
-        }
-        long total = rows.isEmpty() ? 0 : Long.parseLong(database.query(countSql).get(0).get("total"));
-        return new PagedResult(items, page, size, total);
+    public LruCache.Stats countCacheStats() {
+        return totals.stats();
     }
 
-    private void validateLeaveQuota(EmployeeService.Employee employee, LeaveType type, LocalDateTime start, double hours) {
+    private long countLeaveRequests(String countSql, Object[] params) {
+        String key = database.writeGeneration() + ":" + countSql + Arrays.toString(params);
+        Long cached = totals.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        long total = database.queryFirst(countSql, row -> row.getLong(1), params).orElse(0L);
+        totals.put(key, total);
+        return total;
+    }
+
+    private void validateLeaveQuota(QueryRunner queries, EmployeeService.Employee employee, LeaveType type,
+                                    LocalDateTime start, double hours) {
         switch (type) {
             case ANNUAL -> {
-                EmployeeService.AnnualLeaveSummary summary = employeeService.calculateAnnualLeave(employee.id());
+                EmployeeService.AnnualLeaveSummary summary = employeeService.calculateAnnualLeave(queries, employee);
                 double remainingHours = summary.remainingDays() * 8.0;
                 if (hours > remainingHours + 1e-6) {
                     throw new IllegalArgumentException("Insufficient annual leave balance");
                 }
             }
             case SICK -> {
-                YearMonthRange month = YearMonthRange.of(start.toLocalDate());
-                double used = employeeService.sumLeaveHours(employee.id(), "SICK",
-                        month.start().atStartOfDay(), month.end().plusDays(1).atStartOfDay());
+                YearMonth month = YearMonth.from(start);
+                double used = employeeService.sumLeaveHours(queries, employee.id(), "SICK", month, month.plusMonths(1));
                 double remaining = 8.0 - used;
                 if (hours > remaining + 1e-6) {
                     throw new IllegalArgumentException("Monthly sick leave quota exceeded");
@@ -153,7 +230,13 @@ public final class LeaveRequestService {
                                LocalDateTime startTime, LocalDateTime endTime, double hours) {
     }
 
-    public record PagedResult(List<Map<String, Object>> items, int page, int size, long total) {
+    public record LeaveRequestItem(long id, String chineseName, String englishName, LeaveType type,
+                                   LocalDateTime startTime, LocalDateTime endTime, double hours,
+                                   LocalDateTime createdAt) {
+    }
+
+    public record PagedResult(List<LeaveRequestItem> content, int page, int size, Long totalElements,
+                              String nextCursor) {
     }
 
     public enum LeaveType {
@@ -179,12 +262,4 @@ public final class LeaveRequestService {
             };
         }
     }
-
-    private record YearMonthRange(LocalDate start, LocalDate end) {
-        static YearMonthRange of(LocalDate date) {
-            LocalDate first = date.withDayOfMonth(1);
-            LocalDate last = first.plusMonths(1).minusDays(1);
-            return new YearMonthRange(first, last);
-        }
-    }
 }
@@ -0,0 +1,61 @@
+package com.example.attendance;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+public final class LruCache<K, V> {
+    private final int capacity;
+    private final LinkedHashMap<K, V> entries;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public LruCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Cache capacity must be greater than zero");
+        }
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    public synchronized V get(K key) {
+        V value = entries.get(key);
+        if (value != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return value;
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, value);
+        if (entries.size() > capacity) {
+            Iterator<Map.Entry<K, V>> eldest = entries.entrySet().iterator();
+            eldest.next();
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    public synchronized void remove(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void removeIf(Predicate<K> predicate) {
+        entries.keySet().removeIf(predicate);
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits, misses, evictions, entries.size());
+    }
+
+    public record Stats(long hits, long misses, long evictions, int size) {
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+    }
+}
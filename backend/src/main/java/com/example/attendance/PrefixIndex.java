@@ -0,0 +1,77 @@
+package com.example.attendance;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Case-insensitive prefix lookup over a fixed set of values, stored as one sorted array of keys so a
+ * query is a binary search followed by a short scan. Build a new index when the values change.
+ */
+public final class PrefixIndex<T> {
+    private final String[] keys;
+    private final List<T> values;
+
+    private PrefixIndex(String[] keys, List<T> values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    public static <T> PrefixIndex<T> build(Collection<T> items, Function<T, Collection<String>> keysOf) {
+        List<Entry<T>> entries = new ArrayList<>();
+        for (T item : items) {
+            for (String key : keysOf.apply(item)) {
+                if (key != null && !key.isBlank()) {
+                    entries.add(new Entry<>(normalize(key), item));
+                }
+            }
+        }
+        entries.sort(Comparator.comparing(Entry::key));
+        String[] keys = new String[entries.size()];
+        List<T> values = new ArrayList<>(entries.size());
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = entries.get(i).key();
+            values.add(entries.get(i).value());
+        }
+        return new PrefixIndex<>(keys, List.copyOf(values));
+    }
+
+    public List<T> search(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        int index = Arrays.binarySearch(keys, normalized);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        List<T> matches = new ArrayList<>(Math.min(limit, 16));
+        for (; index < keys.length && matches.size() < limit && keys[index].startsWith(normalized); index++) {
+            T value = values.get(index);
+            if (!containsSame(matches, value)) {
+                matches.add(value);
+            }
+        }
+        return matches;
+    }
+
+    private static boolean containsSame(List<?> matches, Object value) {
+        for (Object match : matches) {
+            if (match == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String normalize(String key) {
+        return key.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry<T>(String key, T value) {
+    }
+}
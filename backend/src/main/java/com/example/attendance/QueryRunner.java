@@ -0,0 +1,25 @@
+package com.example.attendance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+public interface QueryRunner {
+    void forEachRow(String sql, Database.RowCallback callback, Object... params);
+
+    default <T> List<T> queryList(String sql, Database.RowMapper<T> mapper, Object... params) {
+        List<T> result = new ArrayList<>();
+        forEachRow(sql, row -> result.add(mapper.map(row)), params);
+        return result;
+    }
+
+    default <T> Optional<T> queryFirst(String sql, Database.RowMapper<T> mapper, Object... params) {
+        List<T> result = new ArrayList<>(1);
+        forEachRow(sql, row -> {
+            if (result.isEmpty()) {
+                result.add(mapper.map(row));
+            }
+        }, params);
+        return result.isEmpty() ? Optional.empty() : Optional.ofNullable(result.get(0));
+    }
+}
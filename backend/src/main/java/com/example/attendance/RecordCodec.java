@@ -0,0 +1,235 @@
+package com.example.attendance;
+
+import java.io.IOException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * JSON codec for a record type, derived once from its components and cached per class. Field names are
+ * encoded to UTF-8 up front and primitive components are read through typed method handles, so writing a
+ * record allocates nothing beyond what the values themselves need.
+ */
+public final class RecordCodec<T extends Record> {
+    private static final ClassValue<RecordCodec<?>> CODECS = new ClassValue<>() {
+        @Override
+        protected RecordCodec<?> computeValue(Class<?> type) {
+            return new RecordCodec<>(type.asSubclass(Record.class));
+        }
+    };
+
+    private final Class<T> type;
+    private final Component[] components;
+    private final MethodHandle constructor;
+
+    private RecordCodec(Class<T> type) {
+        this.type = type;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+            RecordComponent[] recordComponents = type.getRecordComponents();
+            Class<?>[] parameterTypes = new Class<?>[recordComponents.length];
+            this.components = new Component[recordComponents.length];
+            for (int i = 0; i < recordComponents.length; i++) {
+                RecordComponent component = recordComponents[i];
+                parameterTypes[i] = component.getType();
+                components[i] = new Component(lookup, component);
+            }
+            this.constructor = lookup.findConstructor(type, MethodType.methodType(void.class, parameterTypes))
+                    .asType(MethodType.genericMethodType(parameterTypes.length))
+                    .asSpreader(Object[].class, parameterTypes.length);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot derive JSON codec for " + type.getName(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T extends Record> RecordCodec<T> of(Class<T> type) {
+        return (RecordCodec<T>) CODECS.get(type);
+    }
+
+    @SuppressWarnings("unchecked")
+    public void write(JsonWriter writer, T value) throws IOException {
+        writer.beginObject();
+        for (Component component : components) {
+            writer.name(component.encodedName);
+            switch (component.kind) {
+                case LONG -> writer.value(((ToLongFunction<Object>) component.getter).applyAsLong(value));
+                case INT -> writer.value(((ToIntFunction<Object>) component.getter).applyAsInt(value));
+                case DOUBLE -> writer.value(((ToDoubleFunction<Object>) component.getter).applyAsDouble(value));
+                case BOOLEAN -> writer.value(((Predicate<Object>) component.getter).test(value));
+                case OBJECT -> writer.value(((Function<Object, Object>) component.getter).apply(value));
+            }
+        }
+        writer.endObject();
+    }
+
+    public T read(JsonReader reader) {
+        Object[] arguments = defaults();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            int index = indexOf(name);
+            if (index < 0) {
+                reader.skipValue();
+            } else {
+                Component component = components[index];
+                Object value = readValue(reader, component.type, name);
+                arguments[index] = value != null ? value : component.defaultValue();
+            }
+        }
+        reader.endObject();
+        return construct(arguments);
+    }
+
+    T empty() {
+        return construct(defaults());
+    }
+
+    private Object[] defaults() {
+        Object[] arguments = new Object[components.length];
+        for (int i = 0; i < components.length; i++) {
+            arguments[i] = components[i].defaultValue();
+        }
+        return arguments;
+    }
+
+    private T construct(Object[] arguments) {
+        try {
+            return type.cast(constructor.invokeExact(arguments));
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private int indexOf(String name) {
+        for (int i = 0; i < components.length; i++) {
+            if (components[i].name.equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object readValue(JsonReader reader, Class<?> type, String name) {
+        if (reader.peek() == JsonReader.Token.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        if (Record.class.isAssignableFrom(type)) {
+            return of((Class<? extends Record>) type).read(reader);
+        }
+        Object value = reader.readValue();
+        try {
+            if (type == String.class) {
+                return value.toString();
+            }
+            if (type == long.class || type == Long.class) {
+                return value instanceof Number number ? number.longValue() : Long.parseLong(value.toString().trim());
+            }
+            if (type == int.class || type == Integer.class) {
+                return value instanceof Number number ? number.intValue() : Integer.parseInt(value.toString().trim());
+            }
+            if (type == double.class || type == Double.class) {
+                return value instanceof Number number ? number.doubleValue()
+                        : Double.parseDouble(value.toString().trim());
+            }
+            if (type == boolean.class || type == Boolean.class) {
+                return value instanceof Boolean bool ? bool : Boolean.parseBoolean(value.toString().trim());
+            }
+            if (type == LocalDate.class) {
+                return LocalDate.parse(value.toString().trim());
+            }
+            if (type == LocalDateTime.class) {
+                return LocalDateTime.parse(value.toString().trim());
+            }
+            if (type.isEnum()) {
+                return Enum.valueOf((Class<? extends Enum>) type, value.toString().trim().toUpperCase());
+            }
+            return type.cast(value);
+        } catch (IllegalArgumentException | DateTimeParseException | ClassCastException e) {
+            throw new IllegalArgumentException("Invalid value for " + name);
+        }
+    }
+
+    private enum Kind {
+        LONG,
+        INT,
+        DOUBLE,
+        BOOLEAN,
+        OBJECT
+    }
+
+    private static final class Component {
+        private final String name;
+        private final byte[] encodedName;
+        private final Class<?> type;
+        private final Kind kind;
+        private final Object getter;
+
+        Component(MethodHandles.Lookup lookup, RecordComponent component) throws Throwable {
+            this.name = component.getName();
+            this.encodedName = ("\"" + name + "\":").getBytes(StandardCharsets.UTF_8);
+            this.type = component.getType();
+            this.kind = type == long.class ? Kind.LONG
+                    : type == int.class ? Kind.INT
+                    : type == double.class ? Kind.DOUBLE
+                    : type == boolean.class ? Kind.BOOLEAN
+                    : Kind.OBJECT;
+            this.getter = getter(lookup, component, kind);
+        }
+
+        /**
+         * Spins the accessor into a functional interface instance, which the JIT can inline like ordinary
+         * code, unlike a method handle held in a field.
+         */
+        private static Object getter(MethodHandles.Lookup lookup, RecordComponent component, Kind kind)
+                throws Throwable {
+            MethodHandle accessor = lookup.unreflect(component.getAccessor());
+            Class<?> returnType = kind == Kind.OBJECT ? Object.class : component.getType();
+            Class<?> functionType = switch (kind) {
+                case LONG -> ToLongFunction.class;
+                case INT -> ToIntFunction.class;
+                case DOUBLE -> ToDoubleFunction.class;
+                case BOOLEAN -> Predicate.class;
+                case OBJECT -> Function.class;
+            };
+            String methodName = switch (kind) {
+                case LONG -> "applyAsLong";
+                case INT -> "applyAsInt";
+                case DOUBLE -> "applyAsDouble";
+                case BOOLEAN -> "test";
+                case OBJECT -> "apply";
+            };
+            MethodType instantiated = kind == Kind.OBJECT
+                    ? accessor.type().changeReturnType(accessor.type().wrap().returnType())
+                    : accessor.type();
+            return LambdaMetafactory.metafactory(lookup, methodName, MethodType.methodType(functionType),
+                    MethodType.methodType(returnType, Object.class), accessor, instantiated)
+                    .getTarget().invoke();
+        }
+
+        Object defaultValue() {
+            return switch (kind) {
+                case LONG -> 0L;
+                case INT -> 0;
+                case DOUBLE -> 0.0;
+                case BOOLEAN -> false;
+                case OBJECT -> null;
+            };
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.attendance;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Routes compiled into one segment trie per HTTP method. Patterns use {@code {name}} for any segment and
+ * {@code {name:long}} for numeric segments. Lookup walks the path in place, trying literal segments before
+ * parameters, and only allocates the captured parameter values.
+ */
+public final class RouteTrie<T> {
+    private final Map<String, Node<T>> roots = new HashMap<>();
+    private int maxParams;
+
+    public void add(String method, String pattern, T value) {
+        Node<T> node = roots.computeIfAbsent(method.toUpperCase(Locale.ROOT), key -> new Node<>());
+        List<String> names = new ArrayList<>();
+        for (String segment : pattern.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            if (segment.startsWith("{") && segment.endsWith("}")) {
+                String spec = segment.substring(1, segment.length() - 1);
+                int colon = spec.indexOf(':');
+                names.add(colon < 0 ? spec : spec.substring(0, colon));
+                node = node.paramChild(ParamType.from(colon < 0 ? null : spec.substring(colon + 1)));
+            } else {
+                node = node.literalChild(segment);
+            }
+        }
+        if (node.value != null) {
+            throw new IllegalArgumentException("Duplicate route: " + method + " " + pattern);
+        }
+        node.value = value;
+        node.paramNames = names.toArray(String[]::new);
+        maxParams = Math.max(maxParams, names.size());
+    }
+
+    public Match<T> find(String method, String path) {
+        Node<T> root = roots.get(method);
+        if (root == null || path.isEmpty() || path.charAt(0) != '/') {
+            return null;
+        }
+        String[] values = maxParams == 0 ? PathParams.NONE : new String[maxParams];
+        Node<T> node = root.find(path, 1, values, 0);
+        return node == null ? null : new Match<>(node.value, new PathParams(node.paramNames, values));
+    }
+
+    public record Match<T>(T value, PathParams params) {
+    }
+
+    public static final class PathParams {
+        private static final String[] NONE = new String[0];
+
+        private final String[] names;
+        private final String[] values;
+
+        private PathParams(String[] names, String[] values) {
+            this.names = names;
+            this.values = values;
+        }
+
+        public String get(String name) {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(name)) {
+                    return values[i];
+                }
+            }
+            throw new IllegalArgumentException("Unknown path parameter: " + name);
+        }
+
+        public long getLong(String name) {
+            return Long.parseLong(get(name));
+        }
+    }
+
+    private enum ParamType {
+        STRING,
+        LONG;
+
+        static ParamType from(String value) {
+            if (value == null) {
+                return STRING;
+            }
+            return switch (value) {
+                case "long" -> LONG;
+                case "string" -> STRING;
+                default -> throw new IllegalArgumentException("Unsupported path parameter type: " + value);
+            };
+        }
+
+        boolean accepts(String path, int from, int to) {
+            if (to == from) {
+                return false;
+            }
+            if (this == STRING) {
+                return true;
+            }
+            if (to - from > 18) {
+                return false;
+            }
+            for (int i = from; i < to; i++) {
+                char c = path.charAt(i);
+                if (c < '0' || c > '9') {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class Node<T> {
+        private String[] literals = new String[0];
+        private final List<Node<T>> literalChildren = new ArrayList<>();
+        private Node<T> longChild;
+        private Node<T> stringChild;
+        private T value;
+        private String[] paramNames;
+
+        Node<T> literalChild(String segment) {
+            for (int i = 0; i < literals.length; i++) {
+                if (literals[i].equals(segment)) {
+                    return literalChildren.get(i);
+                }
+            }
+            Node<T> child = new Node<>();
+            literals = Arrays.copyOf(literals, literals.length + 1);
+            literals[literals.length - 1] = segment;
+            literalChildren.add(child);
+            return child;
+        }
+
+        Node<T> paramChild(ParamType type) {
+            if (type == ParamType.LONG) {
+                if (longChild == null) {
+                    longChild = new Node<>();
+                }
+                return longChild;
+            }
+            if (stringChild == null) {
+                stringChild = new Node<>();
+            }
+            return stringChild;
+        }
+
+        Node<T> find(String path, int from, String[] values, int captured) {
+            int length = path.length();
+            if (from >= length) {
+                return value != null ? this : null;
+            }
+            int end = path.indexOf('/', from);
+            if (end < 0) {
+                end = length;
+            }
+            int next = end < length ? end + 1 : length;
+            int segmentLength = end - from;
+            for (int i = 0; i < literals.length; i++) {
+                String literal = literals[i];
+                if (literal.length() == segmentLength && path.regionMatches(from, literal, 0, segmentLength)) {
+                    Node<T> match = literalChildren.get(i).find(path, next, values, captured);
+                    if (match != null) {
+                        return match;
+                    }
+                }
+            }
+            Node<T> match = findParam(longChild, ParamType.LONG, path, from, end, next, values, captured);
+            return match != null ? match
+                    : findParam(stringChild, ParamType.STRING, path, from, end, next, values, captured);
+        }
+
+        private static <T> Node<T> findParam(Node<T> child, ParamType type, String path, int from, int end, int next,
+                                             String[] values, int captured) {
+            if (child == null || !type.accepts(path, from, end)) {
+                return null;
+            }
+            Node<T> match = child.find(path, next, values, captured + 1);
+            if (match != null) {
+                values[captured] = path.substring(from, end);
+            }
+            return match;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.attendance;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+final class SchemaMigrations {
+    private static final String ADD_NEW_HOURS =
+            "INSERT INTO leave_hours_monthly (employee_id, type, month, hours) " +
+                    "VALUES (NEW.employee_id, NEW.type, substr(NEW.start_time, 1, 7), NEW.hours) " +
+                    "ON CONFLICT(employee_id, type, month) DO UPDATE SET hours = hours + excluded.hours; ";
+    private static final String SUBTRACT_OLD_HOURS =
+            "UPDATE leave_hours_monthly SET hours = hours - OLD.hours " +
+                    "WHERE employee_id = OLD.employee_id AND type = OLD.type AND month = substr(OLD.start_time, 1, 7); ";
+    private static final String INDEX_NEW_TEXT =
+            "INSERT INTO leave_request_fts (rowid, chinese_name, english_name, type, start_date, end_date) " +
+                    "SELECT NEW.id, e.chinese_name, e.english_name, NEW.type, substr(NEW.start_time, 1, 10), " +
+                    "substr(NEW.end_time, 1, 10) FROM employee e WHERE e.id = NEW.employee_id; ";
+    private static final String REMOVE_OLD_TEXT = "DELETE FROM leave_request_fts WHERE rowid = OLD.id; ";
+
+    private static final List<Migration> MIGRATIONS = List.of(
+            new Migration(1, "baseline schema", List.of(
+                    "CREATE TABLE IF NOT EXISTS user_account (" +
+                            "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                            "username TEXT UNIQUE NOT NULL, " +
+                            "password_hash TEXT NOT NULL, " +
+                            "salt TEXT NOT NULL, " +
+                            "role TEXT NOT NULL" +
+                            ");",
+                    "CREATE TABLE IF NOT EXISTS employee (" +
+                            "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                            "chinese_name TEXT NOT NULL, " +
+                            "english_name TEXT UNIQUE NOT NULL, " +
+                            "hire_date TEXT NOT NULL" +
+                            ");",
+                    "CREATE TABLE IF NOT EXISTS leave_request (" +
+                            "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                            "employee_id INTEGER NOT NULL, " +
+                            "type TEXT NOT NULL, " +
+                            "start_time TEXT NOT NULL, " +
+                            "end_time TEXT NOT NULL, " +
+                            "hours REAL NOT NULL, " +
+                            "created_at TEXT NOT NULL, " +
+                            "FOREIGN KEY(employee_id) REFERENCES employee(id) ON DELETE CASCADE" +
+                            ");")),
+            new Migration(2, "leave request and employee lookup indexes", List.of(
+                    "CREATE INDEX IF NOT EXISTS idx_leave_request_employee_type_start " +
+                            "ON leave_request(employee_id, type, start_time);",
+                    "CREATE INDEX IF NOT EXISTS idx_leave_request_start_time ON leave_request(start_time);",
+                    "CREATE INDEX IF NOT EXISTS idx_employee_english_name_lower ON employee(LOWER(english_name));",
+                    "ANALYZE;")),
+            new Migration(3, "monthly leave hours aggregate", List.of(
+                    "CREATE TABLE IF NOT EXISTS leave_hours_monthly (" +
+                            "employee_id INTEGER NOT NULL, " +
+                            "type TEXT NOT NULL, " +
+                            "month TEXT NOT NULL, " +
+                            "hours REAL NOT NULL, " +
+                            "PRIMARY KEY(employee_id, type, month), " +
+                            "FOREIGN KEY(employee_id) REFERENCES employee(id) ON DELETE CASCADE" +
+                            ") WITHOUT ROWID;",
+                    "INSERT INTO leave_hours_monthly (employee_id, type, month, hours) " +
+                            "SELECT employee_id, type, substr(start_time, 1, 7), SUM(hours) FROM leave_request " +
+                            "GROUP BY employee_id, type, substr(start_time, 1, 7);",
+                    "CREATE TRIGGER IF NOT EXISTS leave_request_hours_insert AFTER INSERT ON leave_request BEGIN " +
+                            ADD_NEW_HOURS +
+                            "END;",
+                    "CREATE TRIGGER IF NOT EXISTS leave_request_hours_delete AFTER DELETE ON leave_request BEGIN " +
+                            SUBTRACT_OLD_HOURS +
+                            "END;",
+                    "CREATE TRIGGER IF NOT EXISTS leave_request_hours_update " +
+                            "AFTER UPDATE OF employee_id, type, start_time, hours ON leave_request BEGIN " +
+                            SUBTRACT_OLD_HOURS +
+                            ADD_NEW_HOURS +
+                            "END;")),
+            new Migration(4, "leave request full-text index", List.of(
+                    "CREATE VIRTUAL TABLE IF NOT EXISTS leave_request_fts USING fts5(" +
+                            "chinese_name, english_name, type, start_date, end_date, " +
+                            "tokenize = 'unicode61 remove_diacritics 2');",
+                    "INSERT INTO leave_request_fts (rowid, chinese_name, english_name, type, start_date, end_date) " +
+                            "SELECT lr.id, e.chinese_name, e.english_name, lr.type, substr(lr.start_time, 1, 10), " +
+                            "substr(lr.end_time, 1, 10) FROM leave_request lr JOIN employee e ON e.id = lr.employee_id;",
+                    "CREATE TRIGGER IF NOT EXISTS leave_request_text_insert AFTER INSERT ON leave_request BEGIN " +
+                            INDEX_NEW_TEXT +
+                            "END;",
+                    "CREATE TRIGGER IF NOT EXISTS leave_request_text_delete AFTER DELETE ON leave_request BEGIN " +
+                            REMOVE_OLD_TEXT +
+                            "END;",
+                    "CREATE TRIGGER IF NOT EXISTS leave_request_text_update " +
+                            "AFTER UPDATE OF employee_id, type, start_time, end_time ON leave_request BEGIN " +
+                            REMOVE_OLD_TEXT +
+                            INDEX_NEW_TEXT +
+                            "END;",
+                    "CREATE TRIGGER IF NOT EXISTS employee_text_update " +
+                            "AFTER UPDATE OF chinese_name, english_name ON employee BEGIN " +
+                            "UPDATE leave_request_fts SET chinese_name = NEW.chinese_name, english_name = NEW.english_name " +
+                            "WHERE rowid IN (SELECT id FROM leave_request WHERE employee_id = NEW.id); " +
+                            "END;"))
+    );
+
+    private final Database database;
+
+    SchemaMigrations(Database database) {
+        this.database = Objects.requireNonNull(database, "database");
+    }
+
+    void migrate() {
+        database.execute("CREATE TABLE IF NOT EXISTS schema_version (" +
+                "version INTEGER PRIMARY KEY, " +
+                "description TEXT NOT NULL, " +
+                "applied_at TEXT NOT NULL" +
+                ");");
+        long current = currentVersion();
+        for (Migration migration : MIGRATIONS) {
+            if (migration.version() <= current) {
+                continue;
+            }
+            List<String> script = new ArrayList<>(migration.statements());
+            script.add(SqlParameters.inline("INSERT INTO schema_version (version, description, applied_at) " +
+                    "VALUES (?,?,?);", new Object[]{migration.version(), migration.description(), LocalDateTime.now()}));
+            database.executeScript(script);
+        }
+    }
+
+    long currentVersion() {
+        return database.queryFirst("SELECT IFNULL(MAX(version),0) FROM schema_version;", row -> row.getLong(1))
+                .orElse(0L);
+    }
+
+    private record Migration(int version, String description, List<String> statements) {
+    }
+}
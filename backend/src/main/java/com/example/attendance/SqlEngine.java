@@ -0,0 +1,28 @@
+package com.example.attendance;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+interface SqlEngine extends AutoCloseable {
+    void execute(String sql, Object... params);
+
+    void executeScript(List<String> statements);
+
+    CompletableFuture<Long> insertAsync(String sql, Object... params);
+
+    List<Map<String, String>> query(String sql, Object... params);
+
+    void forEachRow(String sql, Object[] params, Database.RowCallback callback);
+
+    <T> T inTransaction(Database.TransactionWork<T> work);
+
+    Database.StatementCacheStats statementCacheStats();
+
+    Database.WriterStats writerStats();
+
+    long writeGeneration();
+
+    @Override
+    void close();
+}
@@ -0,0 +1,82 @@
+package com.example.attendance;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.temporal.TemporalAccessor;
+
+final class SqlParameters {
+    private SqlParameters() {
+    }
+
+    static void bind(PreparedStatement statement, Object[] params) throws SQLException {
+        statement.clearParameters();
+        for (int i = 0; i < params.length; i++) {
+            Object value = params[i];
+            int index = i + 1;
+            if (value == null) {
+                statement.setNull(index, Types.NULL);
+            } else if (value instanceof Long || value instanceof Integer
+                    || value instanceof Short || value instanceof Byte) {
+                statement.setLong(index, ((Number) value).longValue());
+            } else if (value instanceof Double || value instanceof Float) {
+                statement.setDouble(index, ((Number) value).doubleValue());
+            } else if (value instanceof Boolean bool) {
+                statement.setInt(index, bool ? 1 : 0);
+            } else {
+                statement.setString(index, asText(value));
+            }
+        }
+    }
+
+    static String inline(String sql, Object[] params) {
+        StringBuilder builder = new StringBuilder(sql.length() + params.length * 8);
+        int next = 0;
+        boolean quoted = false;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            }
+            if (c == '?' && !quoted) {
+                if (next >= params.length) {
+                    throw new IllegalArgumentException("Missing SQL parameter " + (next + 1) + " for: " + sql);
+                }
+                builder.append(literal(params[next++]));
+            } else {
+                builder.append(c);
+            }
+        }
+        if (next != params.length) {
+            throw new IllegalArgumentException("Expected " + next + " SQL parameters but got " + params.length);
+        }
+        return builder.toString();
+    }
+
+    private static String literal(Object value) {
+        if (value == null) {
+            return "NULL";
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte
+                || value instanceof Double || value instanceof Float) {
+            return value.toString();
+        }
+        if (value instanceof Boolean bool) {
+            return bool ? "1" : "0";
+        }
+        return "'" + Database.escape(asText(value)) + "'";
+    }
+
+    private static String asText(Object value) {
+        if (value instanceof String s) {
+            return s;
+        }
+        if (value instanceof Enum<?> e) {
+            return e.name();
+        }
+        if (value instanceof TemporalAccessor) {
+            return value.toString();
+        }
+        throw new IllegalArgumentException("Unsupported SQL parameter type: " + value.getClass());
+    }
+}
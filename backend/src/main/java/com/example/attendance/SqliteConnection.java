@@ -0,0 +1,172 @@
+package com.example.attendance;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+final class SqliteConnection implements AutoCloseable {
+    private static final int BUSY_TIMEOUT_MILLIS = 5000;
+
+    private final Connection connection;
+    private final StatementCache statements;
+
+    private SqliteConnection(Connection connection, int statementCacheSize) {
+        this.connection = connection;
+        this.statements = new StatementCache(connection, statementCacheSize);
+    }
+
+    static SqliteConnection openWriter(Path databaseFile, int statementCacheSize) {
+        return open(databaseFile, statementCacheSize,
+                "PRAGMA journal_mode=WAL", "PRAGMA foreign_keys=ON", "PRAGMA busy_timeout=" + BUSY_TIMEOUT_MILLIS);
+    }
+
+    static SqliteConnection openReader(Path databaseFile, int statementCacheSize) {
+        return open(databaseFile, statementCacheSize,
+                "PRAGMA query_only=ON", "PRAGMA foreign_keys=ON", "PRAGMA busy_timeout=" + BUSY_TIMEOUT_MILLIS);
+    }
+
+    private static SqliteConnection open(Path databaseFile, int statementCacheSize, String... pragmas) {
+        try {
+            Connection connection = DriverManager.getConnection("jdbc:sqlite:" + databaseFile);
+            try (Statement statement = connection.createStatement()) {
+                for (String pragma : pragmas) {
+                    statement.execute(pragma);
+                }
+            }
+            return new SqliteConnection(connection, statementCacheSize);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Unable to open SQLite database " + databaseFile, e);
+        }
+    }
+
+    void execute(String sql, Object... params) throws SQLException {
+        PreparedStatement statement = statements.acquire(sql);
+        try {
+            SqlParameters.bind(statement, params);
+            if (statement.execute()) {
+                statement.getResultSet().close();
+            }
+        } finally {
+            statements.release(sql, statement);
+        }
+    }
+
+    long insert(String sql, Object... params) throws SQLException {
+        execute(sql, params);
+        String lastId = "SELECT last_insert_rowid();";
+        PreparedStatement statement = statements.acquire(lastId);
+        try (ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        } finally {
+            statements.release(lastId, statement);
+        }
+    }
+
+    List<Map<String, String>> query(String sql, Object... params) throws SQLException {
+        PreparedStatement statement = statements.acquire(sql);
+        try (ResultSet resultSet = bindAndQuery(statement, params)) {
+            ResultSetMetaData metaData = resultSet.getMetaData();
+            int columns = metaData.getColumnCount();
+            String[] headers = new String[columns];
+            for (int i = 0; i < columns; i++) {
+                headers[i] = metaData.getColumnLabel(i + 1);
+            }
+            List<Map<String, String>> rows = new ArrayList<>();
+            while (resultSet.next()) {
+                Map<String, String> row = new LinkedHashMap<>();
+                for (int i = 0; i < columns; i++) {
+                    row.put(headers[i], resultSet.getString(i + 1));
+                }
+                rows.add(row);
+            }
+            return rows;
+        } finally {
+            statements.release(sql, statement);
+        }
+    }
+
+    void forEachRow(String sql, Object[] params, Database.RowCallback callback) throws SQLException {
+        PreparedStatement statement = statements.acquire(sql);
+        try (ResultSet resultSet = bindAndQuery(statement, params)) {
+            ResultSetRow row = new ResultSetRow(resultSet);
+            while (resultSet.next()) {
+                callback.accept(row);
+            }
+        } finally {
+            statements.release(sql, statement);
+        }
+    }
+
+    private static ResultSet bindAndQuery(PreparedStatement statement, Object[] params) throws SQLException {
+        SqlParameters.bind(statement, params);
+        return statement.executeQuery();
+    }
+
+    Database.StatementCacheStats statementCacheStats() {
+        return statements.stats();
+    }
+
+    private static final class ResultSetRow implements Database.Row {
+        private final ResultSet resultSet;
+
+        ResultSetRow(ResultSet resultSet) {
+            this.resultSet = resultSet;
+        }
+
+        @Override
+        public boolean isNull(int column) {
+            try {
+                return resultSet.getObject(column) == null;
+            } catch (SQLException e) {
+                throw new IllegalStateException("SQLite error: " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public String getString(int column) {
+            try {
+                return resultSet.getString(column);
+            } catch (SQLException e) {
+                throw new IllegalStateException("SQLite error: " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public long getLong(int column) {
+            try {
+                return resultSet.getLong(column);
+            } catch (SQLException e) {
+                throw new IllegalStateException("SQLite error: " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public double getDouble(int column) {
+            try {
+                return resultSet.getDouble(column);
+            } catch (SQLException e) {
+                throw new IllegalStateException("SQLite error: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        statements.close();
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Unable to close SQLite connection", e);
+        }
+    }
+}
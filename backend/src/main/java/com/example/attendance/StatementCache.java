@@ -0,0 +1,90 @@
+package com.example.attendance;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * LRU cache of prepared statements for one connection. A statement is checked out by {@link #acquire} until
+ * {@link #release}, because re-executing it would close the result set a caller is still reading. Asking for
+ * SQL whose cached statement is checked out, for example from inside a {@code forEachRow} callback, prepares a
+ * fresh statement that is closed on release.
+ */
+final class StatementCache implements AutoCloseable {
+    private final Connection connection;
+    private final int capacity;
+    private final LinkedHashMap<String, PreparedStatement> statements;
+    private final Set<PreparedStatement> inUse = Collections.newSetFromMap(new IdentityHashMap<>());
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    StatementCache(Connection connection, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Statement cache capacity must be greater than zero");
+        }
+        this.connection = connection;
+        this.capacity = capacity;
+        this.statements = new LinkedHashMap<>(capacity * 2, 0.75f, true);
+    }
+
+    synchronized PreparedStatement acquire(String sql) throws SQLException {
+        PreparedStatement cached = statements.get(sql);
+        if (cached != null && !inUse.contains(cached)) {
+            hits++;
+            inUse.add(cached);
+            return cached;
+        }
+        misses++;
+        PreparedStatement statement = connection.prepareStatement(sql);
+        inUse.add(statement);
+        if (cached != null) {
+            return statement;
+        }
+        statements.put(sql, statement);
+        if (statements.size() > capacity) {
+            Iterator<Map.Entry<String, PreparedStatement>> eldest = statements.entrySet().iterator();
+            PreparedStatement evicted = eldest.next().getValue();
+            eldest.remove();
+            evictions++;
+            if (!inUse.contains(evicted)) {
+                evicted.close();
+            }
+        }
+        return statement;
+    }
+
+    /**
+     * Returns a statement from {@link #acquire}. Statements that are no longer cached, because they were
+     * prepared alongside a checked-out one or evicted while in use, are closed here.
+     */
+    synchronized void release(String sql, PreparedStatement statement) throws SQLException {
+        inUse.remove(statement);
+        if (statements.get(sql) != statement) {
+            statement.close();
+        }
+    }
+
+    synchronized Database.StatementCacheStats stats() {
+        return new Database.StatementCacheStats(hits, misses, evictions, statements.size());
+    }
+
+    @Override
+    public synchronized void close() {
+        for (PreparedStatement statement : statements.values()) {
+            try {
+                statement.close();
+            } catch (SQLException ignored) {
+                // the connection is going away regardless
+            }
+        }
+        statements.clear();
+        inUse.clear();
+    }
+}
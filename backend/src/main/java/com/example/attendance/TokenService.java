@@ -15,24 +15,37 @@ import java.util.Optional;
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 
+/**
+ * Issues and verifies HS256 tokens. Verified tokens are cached until they expire, keyed by the whole token so a
+ * reused signature can never vouch for a different payload; a capacity of zero disables the cache. Each thread
+ * keeps its own initialized {@link Mac}.
+ */
 public final class TokenService {
     private static final String HMAC = "HmacSHA256";
     private final byte[] secret;
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::newMac);
+    private final LruCache<String, Verified> verified;
 
-    private TokenService(byte[] secret) {
+    private TokenService(byte[] secret, int cacheCapacity) {
         this.secret = secret.clone();
+        this.verified = cacheCapacity > 0 ? new LruCache<>(cacheCapacity) : null;
     }
 
     public static TokenService load(Path secretFile) {
+        return load(secretFile, Options.defaults());
+    }
+
+    public static TokenService load(Path secretFile, Options options) {
+        int cacheCapacity = options.cacheCapacity();
         try {
             if (Files.exists(secretFile)) {
                 byte[] secret = Files.readAllBytes(secretFile);
-                return new TokenService(secret);
+                return new TokenService(secret, cacheCapacity);
             }
             byte[] generated = new byte[32];
             new java.security.SecureRandom().nextBytes(generated);
             Files.write(secretFile, generated);
-            return new TokenService(generated);
+            return new TokenService(generated, cacheCapacity);
         } catch (IOException e) {
             throw new IllegalStateException("Unable to load token secret", e);
         }
@@ -55,16 +68,29 @@ public final class TokenService {
         if (token == null || token.isBlank()) {
             return Optional.empty();
         }
-        String[] parts = token.split("\\.");
-        if (parts.length != 3) {
+        long now = Instant.now().getEpochSecond();
+        if (verified != null) {
+            Verified cached = verified.get(token);
+            if (cached != null) {
+                if (now < cached.expiresAt()) {
+                    return Optional.of(cached.payload());
+                }
+                verified.remove(token);
+                return Optional.empty();
+            }
+        }
+        int headerEnd = token.indexOf('.');
+        int payloadEnd = token.indexOf('.', headerEnd + 1);
+        if (headerEnd < 0 || payloadEnd < 0 || token.indexOf('.', payloadEnd + 1) >= 0) {
             return Optional.empty();
         }
-        String signature = sign(parts[0] + "." + parts[1]);
-        if (!constantTimeEquals(signature, parts[2])) {
+        String signature = sign(token.substring(0, payloadEnd));
+        if (!constantTimeEquals(signature, token.substring(payloadEnd + 1))) {
             return Optional.empty();
         }
-        String payloadJson = new String(base64UrlDecode(parts[1]), StandardCharsets.UTF_8);
-        Map<String, Object> payload = Json.parseObject(payloadJson);
+        JsonReader reader = JsonReader.of(base64UrlDecode(token.substring(headerEnd + 1, payloadEnd)));
+        Map<String, Object> payload = reader.readObject();
+        reader.endDocument();
         String username = (String) payload.get("sub");
         String role = (String) payload.get("role");
         Object expValue = payload.get("exp");
@@ -77,17 +103,29 @@ public final class TokenService {
         } else {
             exp = Long.parseLong(expValue.toString());
         }
-        if (Instant.now().getEpochSecond() >= exp) {
+        if (now >= exp) {
             return Optional.empty();
         }
-        return Optional.of(new TokenPayload(username, role));
+        TokenPayload result = new TokenPayload(username, role);
+        if (verified != null) {
+            verified.put(token, new Verified(result, exp));
+        }
+        return Optional.of(result);
+    }
+
+    public LruCache.Stats cacheStats() {
+        return verified == null ? new LruCache.Stats(0, 0, 0, 0) : verified.stats();
     }
 
     private String sign(String data) {
+        return base64UrlEncode(macs.get().doFinal(data.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Mac newMac() {
         try {
             Mac mac = Mac.getInstance(HMAC);
             mac.init(new SecretKeySpec(secret, HMAC));
-            return base64UrlEncode(mac.doFinal(data.getBytes(StandardCharsets.UTF_8)));
+            return mac;
         } catch (NoSuchAlgorithmException | InvalidKeyException e) {
             throw new IllegalStateException("Unable to sign token", e);
         }
@@ -114,4 +152,24 @@ public final class TokenService {
 
     public record TokenPayload(String username, String role) {
     }
+
+    public record Options(int cacheCapacity) {
+        public Options {
+            if (cacheCapacity < 0) {
+                throw new IllegalArgumentException("Token cache capacity must not be negative");
+            }
+        }
+
+        public static Options defaults() {
+            return new Options(1024);
+        }
+
+        public static Options fromSystemProperties() {
+            Options defaults = defaults();
+            return new Options(Integer.getInteger("attendance.token.cacheSize", defaults.cacheCapacity()));
+        }
+    }
+
+    private record Verified(TokenPayload payload, long expiresAt) {
+    }
 }
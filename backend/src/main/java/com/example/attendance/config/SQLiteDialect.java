@@ -13,6 +13,25 @@ import org.hibernate.type.SqlTypes;
 import org.hibernate.type.descriptor.jdbc.*;
 
 public class SQLiteDialect extends Dialect {
+    /**
+     * SQLite 中 INTEGER PRIMARY KEY 即 rowid 的别名，插入时自动生成，无需额外的列修饰。
+     */
+    private static final IdentityColumnSupport IDENTITY_COLUMN_SUPPORT = new IdentityColumnSupportImpl() {
+        @Override
+        public boolean supportsIdentityColumns() {
+            return true;
+        }
+
+        @Override
+        public String getIdentitySelectString(String table, String column, int type) {
+            return "select last_insert_rowid()";
+        }
+
+        @Override
+        public String getIdentityColumnString(int type) {
+            return "";
+        }
+    };
 
     public SQLiteDialect() {
         super();
@@ -24,7 +43,7 @@ public class SQLiteDialect extends Dialect {
 
     @Override
     public IdentityColumnSupport getIdentityColumnSupport() {
-        return new IdentityColumnSupportImpl();
+        return IDENTITY_COLUMN_SUPPORT;
     }
 
     @Override
@@ -59,6 +78,7 @@ public class SQLiteDialect extends Dialect {
      */
     @Override
     public void contributeTypes(TypeContributions typeContributions, ServiceRegistry serviceRegistry) {
+        super.contributeTypes(typeContributions, serviceRegistry);
         var registry = typeContributions.getTypeConfiguration().getJdbcTypeRegistry();
 
         // 数值
@@ -1,23 +1,30 @@
 package com.example.attendance.controller;
 
+import com.example.attendance.AnnualLeaveCache;
 import com.example.attendance.dto.AnnualLeaveSummary;
+import com.example.attendance.dto.EmployeeAnnualLeaveResponse;
 import com.example.attendance.dto.EmployeeRequest;
 import com.example.attendance.dto.EmployeeResponse;
 import com.example.attendance.service.EmployeeService;
+import com.example.attendance.service.WriteGeneration;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/employees")
 public class EmployeeController {
     private final EmployeeService employeeService;
+    private final WriteGeneration writeGeneration;
 
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, WriteGeneration writeGeneration) {
         this.employeeService = employeeService;
+        this.writeGeneration = writeGeneration;
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -27,10 +34,25 @@ public class EmployeeController {
     }
 
     @GetMapping
-    public ResponseEntity<List<EmployeeResponse>> list() {
+    public ResponseEntity<List<EmployeeResponse>> list(WebRequest request) {
+        if (request.checkNotModified(writeGeneration.entityTag("employees"))) {
+            return null;
+        }
         return ResponseEntity.ok(employeeService.list());
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<List<EmployeeResponse>> search(@RequestParam(defaultValue = "") String q,
+                                                         @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(employeeService.search(q, limit));
+    }
+
+    @GetMapping("/annual-leave")
+    public ResponseEntity<List<EmployeeAnnualLeaveResponse>> annualLeaveSummaries(
+            @RequestParam(required = false) List<Long> ids) {
+        return ResponseEntity.ok(employeeService.getAnnualLeaveSummaries(ids));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<EmployeeResponse> get(@PathVariable Long id) {
         return ResponseEntity.ok(employeeService.get(id));
@@ -50,7 +72,11 @@ public class EmployeeController {
     }
 
     @GetMapping("/{id}/annual-leave")
-    public ResponseEntity<AnnualLeaveSummary> annualLeave(@PathVariable Long id) {
+    public ResponseEntity<AnnualLeaveSummary> annualLeave(@PathVariable Long id, WebRequest request) {
+        if (request.checkNotModified(writeGeneration.entityTag("annual-leave", id,
+                AnnualLeaveCache.leaveYearStart(LocalDate.now())))) {
+            return null;
+        }
         return ResponseEntity.ok(employeeService.getAnnualLeaveSummary(id));
     }
 }
@@ -33,8 +33,12 @@ public class LeaveRequestController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        return ResponseEntity.ok(leaveRequestService.search(englishName, type, start, end, page, size));
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            @RequestParam(required = false) String q) {
+        return ResponseEntity.ok(leaveRequestService.search(englishName, type, start, end, page, size, after,
+                withTotal, q));
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -0,0 +1,44 @@
+package com.example.attendance.controller;
+
+import com.example.attendance.LruCache;
+import com.example.attendance.service.EmployeeService;
+import com.example.attendance.service.LeaveRequestService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/metrics")
+public class MetricsController {
+    private final EmployeeService employeeService;
+    private final LeaveRequestService leaveRequestService;
+
+    public MetricsController(EmployeeService employeeService, LeaveRequestService leaveRequestService) {
+        this.employeeService = employeeService;
+        this.leaveRequestService = leaveRequestService;
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> metrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("leaveCountCache", cacheMetrics(leaveRequestService.countCacheStats()));
+        metrics.put("annualLeaveCache", cacheMetrics(employeeService.annualLeaveCacheStats()));
+        return ResponseEntity.ok(metrics);
+    }
+
+    private static Map<String, Object> cacheMetrics(LruCache.Stats stats) {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("hits", stats.hits());
+        metrics.put("misses", stats.misses());
+        metrics.put("evictions", stats.evictions());
+        metrics.put("size", stats.size());
+        metrics.put("hitRate", stats.hitRate());
+        return metrics;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.attendance.dto;
+
+public class EmployeeAnnualLeaveResponse {
+    private Long id;
+    private String chineseName;
+    private String englishName;
+    private double totalQuotaDays;
+    private double usedDays;
+    private double remainingDays;
+
+    public EmployeeAnnualLeaveResponse() {
+    }
+
+    public EmployeeAnnualLeaveResponse(Long id, String chineseName, String englishName, AnnualLeaveSummary summary) {
+        this.id = id;
+        this.chineseName = chineseName;
+        this.englishName = englishName;
+        this.totalQuotaDays = summary.getTotalQuotaDays();
+        this.usedDays = summary.getUsedDays();
+        this.remainingDays = summary.getRemainingDays();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getChineseName() {
+        return chineseName;
+    }
+
+    public void setChineseName(String chineseName) {
+        this.chineseName = chineseName;
+    }
+
+    public String getEnglishName() {
+        return englishName;
+    }
+
+    public void setEnglishName(String englishName) {
+        this.englishName = englishName;
+    }
+
+    public double getTotalQuotaDays() {
+        return totalQuotaDays;
+    }
+
+    public void setTotalQuotaDays(double totalQuotaDays) {
+        this.totalQuotaDays = totalQuotaDays;
+    }
+
+    public double getUsedDays() {
+        return usedDays;
+    }
+
+    public void setUsedDays(double usedDays) {
+        this.usedDays = usedDays;
+    }
+
+    public double getRemainingDays() {
+        return remainingDays;
+    }
+
+    public void setRemainingDays(double remainingDays) {
+        this.remainingDays = remainingDays;
+    }
+}
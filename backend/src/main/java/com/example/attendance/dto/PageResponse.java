@@ -6,18 +6,24 @@ public class PageResponse<T> {
     private List<T> content;
     private int pageNumber;
     private int pageSize;
-    private long totalElements;
+    private Long totalElements;
+    private String nextCursor;
 
     public PageResponse() {
     }
 
-    public PageResponse(List<T> content, int pageNumber, int pageSize, long totalElements) {
+    public PageResponse(List<T> content, int pageNumber, int pageSize, Long totalElements) {
         this.content = content;
         this.pageNumber = pageNumber;
         this.pageSize = pageSize;
         this.totalElements = totalElements;
     }
 
+    public PageResponse(List<T> content, int pageNumber, int pageSize, Long totalElements, String nextCursor) {
+        this(content, pageNumber, pageSize, totalElements);
+        this.nextCursor = nextCursor;
+    }
+
     public List<T> getContent() {
         return content;
     }
@@ -42,11 +48,19 @@ public class PageResponse<T> {
         this.pageSize = pageSize;
     }
 
-    public long getTotalElements() {
+    public Long getTotalElements() {
         return totalElements;
     }
 
-    public void setTotalElements(long totalElements) {
+    public void setTotalElements(Long totalElements) {
         this.totalElements = totalElements;
     }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
 }
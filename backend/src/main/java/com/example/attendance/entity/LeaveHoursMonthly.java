@@ -0,0 +1,29 @@
+package com.example.attendance.entity;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "leave_hours_by_month")
+public class LeaveHoursMonthly {
+    @EmbeddedId
+    private LeaveHoursMonthlyId id;
+
+    @Column(nullable = false)
+    private double hours;
+
+    public LeaveHoursMonthlyId getId() {
+        return id;
+    }
+
+    public void setId(LeaveHoursMonthlyId id) {
+        this.id = id;
+    }
+
+    public double getHours() {
+        return hours;
+    }
+
+    public void setHours(double hours) {
+        this.hours = hours;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.attendance.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+@Embeddable
+public class LeaveHoursMonthlyId implements Serializable {
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Column(nullable = false)
+    private String type;
+
+    @Column(nullable = false)
+    private String month;
+
+    public LeaveHoursMonthlyId() {
+    }
+
+    public LeaveHoursMonthlyId(Long employeeId, String type, String month) {
+        this.employeeId = employeeId;
+        this.type = type;
+        this.month = month;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getMonth() {
+        return month;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LeaveHoursMonthlyId that)) {
+            return false;
+        }
+        return Objects.equals(employeeId, that.employeeId)
+                && Objects.equals(type, that.type)
+                && Objects.equals(month, that.month);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(employeeId, type, month);
+    }
+}
@@ -6,7 +6,7 @@ import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 
 @Entity
-@Table(name = "leave_requests")
+@Table(name = "leave_requests", indexes = @Index(name = "idx_leave_requests_start_time_id", columnList = "start_time, id"))
 public class LeaveRequest {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
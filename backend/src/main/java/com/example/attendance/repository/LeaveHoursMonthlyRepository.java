@@ -0,0 +1,24 @@
+package com.example.attendance.repository;
+
+import com.example.attendance.entity.LeaveHoursMonthly;
+import com.example.attendance.entity.LeaveHoursMonthlyId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface LeaveHoursMonthlyRepository extends JpaRepository<LeaveHoursMonthly, LeaveHoursMonthlyId> {
+    @Query("SELECT COALESCE(SUM(m.hours), 0) FROM LeaveHoursMonthly m WHERE m.id.employeeId = :employeeId " +
+            "AND m.id.type = :type AND m.id.month >= :fromMonth AND m.id.month < :toMonth")
+    double sumHours(@Param("employeeId") Long employeeId,
+                    @Param("type") String type,
+                    @Param("fromMonth") String fromMonth,
+                    @Param("toMonth") String toMonth);
+
+    @Query("SELECT m.id.employeeId, SUM(m.hours) FROM LeaveHoursMonthly m WHERE m.id.type = :type " +
+            "AND m.id.month >= :fromMonth AND m.id.month < :toMonth GROUP BY m.id.employeeId")
+    List<Object[]> sumHoursByEmployee(@Param("type") String type,
+                                      @Param("fromMonth") String fromMonth,
+                                      @Param("toMonth") String toMonth);
+}
@@ -2,41 +2,66 @@ package com.example.attendance.repository;
 
 import com.example.attendance.entity.LeaveRequest;
 import com.example.attendance.entity.LeaveType;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long> {
-    @Query("SELECT lr FROM LeaveRequest lr WHERE (:englishName IS NULL OR LOWER(lr.employee.englishName) = LOWER(:englishName)) " +
+    String SEARCH_FILTER = "WHERE (:englishName IS NULL OR LOWER(lr.employee.englishName) = LOWER(:englishName)) " +
             "AND (:type IS NULL OR lr.type = :type) " +
             "AND (:start IS NULL OR lr.startTime >= :start) " +
-            "AND (:end IS NULL OR lr.endTime <= :end)")
-    Page<LeaveRequest> search(@Param("englishName") String englishName,
-                              @Param("type") LeaveType type,
-                              @Param("start") LocalDateTime start,
-                              @Param("end") LocalDateTime end,
-                              Pageable pageable);
-
-    @Query(value = "SELECT COALESCE(SUM(hours),0) FROM leave_requests lr WHERE lr.employee_id = :employeeId " +
-            "AND lr.type = :type AND strftime('%Y', lr.start_time) = :year", nativeQuery = true)
-    double sumHoursByEmployeeAndTypeAndYear(@Param("employeeId") Long employeeId,
-                                            @Param("type") String type,
-                                            @Param("year") String year);
-
-    @Query(value = "SELECT COALESCE(SUM(hours),0) FROM leave_requests lr WHERE lr.employee_id = :employeeId " +
-            "AND lr.type = :type AND strftime('%Y-%m', lr.start_time) = :yearMonth", nativeQuery = true)
-    double sumHoursByEmployeeAndTypeAndMonth(@Param("employeeId") Long employeeId,
-                                             @Param("type") String type,
-                                             @Param("yearMonth") String yearMonth);
-
-    @Query(value = "SELECT COALESCE(SUM(hours),0) FROM leave_requests lr WHERE lr.employee_id = :employeeId " +
-            "AND lr.type = :type AND lr.start_time >= :from AND lr.start_time < :to", nativeQuery = true)
-    double sumHoursByEmployeeAndTypeBetween(@Param("employeeId") Long employeeId,
-                                            @Param("type") String type,
-                                            @Param("from") String from,
-                                            @Param("to") String to);
+            "AND (:end IS NULL OR lr.endTime <= :end)";
+    String TEXT_SEARCH_FROM = "FROM leave_requests lr JOIN employees e ON e.id = lr.employee_id " +
+            "JOIN leave_requests_fts ON leave_requests_fts.rowid = lr.id " +
+            "WHERE leave_requests_fts MATCH :match " +
+            "AND (:englishName IS NULL OR LOWER(e.english_name) = LOWER(:englishName)) " +
+            "AND (:type IS NULL OR lr.type = :type) " +
+            "AND (:start IS NULL OR lr.start_time >= :start) " +
+            "AND (:end IS NULL OR lr.end_time <= :end)";
+
+    @Query("SELECT lr FROM LeaveRequest lr " + SEARCH_FILTER)
+    Slice<LeaveRequest> search(@Param("englishName") String englishName,
+                               @Param("type") LeaveType type,
+                               @Param("start") LocalDateTime start,
+                               @Param("end") LocalDateTime end,
+                               Pageable pageable);
+
+    @Query("SELECT lr FROM LeaveRequest lr " + SEARCH_FILTER +
+            " AND lr.startTime <= :afterStart AND (lr.startTime < :afterStart OR lr.id < :afterId)")
+    List<LeaveRequest> searchAfter(@Param("englishName") String englishName,
+                                   @Param("type") LeaveType type,
+                                   @Param("start") LocalDateTime start,
+                                   @Param("end") LocalDateTime end,
+                                   @Param("afterStart") LocalDateTime afterStart,
+                                   @Param("afterId") Long afterId,
+                                   Pageable pageable);
+
+    @Query("SELECT COUNT(lr) FROM LeaveRequest lr " + SEARCH_FILTER)
+    long countSearch(@Param("englishName") String englishName,
+                     @Param("type") LeaveType type,
+                     @Param("start") LocalDateTime start,
+                     @Param("end") LocalDateTime end);
+
+    @Query(value = "SELECT lr.* " + TEXT_SEARCH_FROM +
+            " ORDER BY leave_requests_fts.rank, lr.start_time DESC, lr.id DESC LIMIT :limit OFFSET :offset",
+            nativeQuery = true)
+    List<LeaveRequest> textSearch(@Param("match") String match,
+                                  @Param("englishName") String englishName,
+                                  @Param("type") String type,
+                                  @Param("start") LocalDateTime start,
+                                  @Param("end") LocalDateTime end,
+                                  @Param("limit") int limit,
+                                  @Param("offset") long offset);
+
+    @Query(value = "SELECT COUNT(*) " + TEXT_SEARCH_FROM, nativeQuery = true)
+    long countTextSearch(@Param("match") String match,
+                         @Param("englishName") String englishName,
+                         @Param("type") String type,
+                         @Param("start") LocalDateTime start,
+                         @Param("end") LocalDateTime end);
 }
@@ -0,0 +1,51 @@
+package com.example.attendance.service;
+
+import com.example.attendance.PrefixIndex;
+import com.example.attendance.dto.EmployeeResponse;
+import com.example.attendance.repository.EmployeeRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Name prefix index over all employees. Employee writes mark it stale after commit; the next search
+ * rebuilds it from the repository.
+ */
+@Component
+public class EmployeeSearchIndex {
+    private final EmployeeRepository employeeRepository;
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    public EmployeeSearchIndex(EmployeeRepository employeeRepository) {
+        this.employeeRepository = employeeRepository;
+    }
+
+    public List<EmployeeResponse> search(String query, int limit) {
+        return current().index().search(query, limit);
+    }
+
+    public void invalidateAfterCommit() {
+        TransactionCallbacks.afterCommit(version::incrementAndGet);
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        long expected = version.get();
+        if (current != null && current.version() == expected) {
+            return current;
+        }
+        List<EmployeeResponse> employees = employeeRepository.findAll().stream()
+                .map(employee -> new EmployeeResponse(employee.getId(), employee.getChineseName(),
+                        employee.getEnglishName(), employee.getHireDate()))
+                .toList();
+        Snapshot rebuilt = new Snapshot(expected, PrefixIndex.build(employees,
+                employee -> List.of(employee.getEnglishName(), employee.getChineseName())));
+        snapshot = rebuilt;
+        return rebuilt;
+    }
+
+    private record Snapshot(long version, PrefixIndex<EmployeeResponse> index) {
+    }
+}
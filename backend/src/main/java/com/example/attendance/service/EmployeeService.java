@@ -1,31 +1,46 @@
 package com.example.attendance.service;
 
+import com.example.attendance.AnnualLeaveAccrual;
+import com.example.attendance.AnnualLeaveCache;
+import com.example.attendance.LruCache;
 import com.example.attendance.dto.AnnualLeaveSummary;
+import com.example.attendance.dto.EmployeeAnnualLeaveResponse;
 import com.example.attendance.dto.EmployeeRequest;
 import com.example.attendance.dto.EmployeeResponse;
 import com.example.attendance.entity.Employee;
 import com.example.attendance.entity.LeaveType;
 import com.example.attendance.repository.EmployeeRepository;
-import com.example.attendance.repository.LeaveRequestRepository;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.YearMonth;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class EmployeeService {
-    private final EmployeeRepository employeeRepository;
-    private final LeaveRequestRepository leaveRequestRepository;
+    private static final int ANNUAL_LEAVE_CACHE_CAPACITY = 1024;
+    private static final int MAX_SEARCH_LIMIT = 50;
 
-    public EmployeeService(EmployeeRepository employeeRepository, LeaveRequestRepository leaveRequestRepository) {
+    private final EmployeeRepository employeeRepository;
+    private final LeaveHoursService leaveHoursService;
+    private final WriteGeneration writeGeneration;
+    private final EmployeeSearchIndex searchIndex;
+    private final AnnualLeaveCache<AnnualLeaveSummary> annualLeaveCache =
+            new AnnualLeaveCache<>(ANNUAL_LEAVE_CACHE_CAPACITY);
+
+    public EmployeeService(EmployeeRepository employeeRepository, LeaveHoursService leaveHoursService,
+                           WriteGeneration writeGeneration, EmployeeSearchIndex searchIndex) {
         this.employeeRepository = employeeRepository;
-        this.leaveRequestRepository = leaveRequestRepository;
+        this.leaveHoursService = leaveHoursService;
+        this.writeGeneration = writeGeneration;
+        this.searchIndex = searchIndex;
     }
 
     public EmployeeResponse create(EmployeeRequest request) {
@@ -37,6 +52,8 @@ public class EmployeeService {
         employee.setEnglishName(request.getEnglishName());
         employee.setHireDate(request.getHireDate());
         Employee saved = employeeRepository.save(employee);
+        writeGeneration.advanceAfterCommit();
+        searchIndex.invalidateAfterCommit();
         return toResponse(saved);
     }
 
@@ -47,14 +64,22 @@ public class EmployeeService {
             employeeRepository.findByEnglishNameIgnoreCase(request.getEnglishName())
                     .ifPresent(e -> { throw new IllegalArgumentException("English name already exists"); });
         }
+        if (!employee.getHireDate().equals(request.getHireDate())) {
+            invalidateAnnualLeave(id);
+        }
         employee.setChineseName(request.getChineseName());
         employee.setEnglishName(request.getEnglishName());
         employee.setHireDate(request.getHireDate());
+        writeGeneration.advanceAfterCommit();
+        searchIndex.invalidateAfterCommit();
         return toResponse(employeeRepository.save(employee));
     }
 
     public void delete(Long id) {
         employeeRepository.deleteById(id);
+        invalidateAnnualLeave(id);
+        writeGeneration.advanceAfterCommit();
+        searchIndex.invalidateAfterCommit();
     }
 
     public EmployeeResponse get(Long id) {
@@ -69,54 +94,70 @@ public class EmployeeService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public List<EmployeeResponse> search(String query, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be greater than zero");
+        }
+        return searchIndex.search(query, Math.min(limit, MAX_SEARCH_LIMIT));
+    }
+
+    @Transactional(readOnly = true)
     public AnnualLeaveSummary getAnnualLeaveSummary(Long employeeId) {
-        Employee employee = employeeRepository.findById(employeeId)
-                .orElseThrow(() -> new EntityNotFoundException("Employee not found"));
-        LocalDate today = LocalDate.now();
-        LocalDate leaveYearStart = today.getMonthValue() >= 4
-                ? LocalDate.of(today.getYear(), 4, 1)
-                : LocalDate.of(today.getYear() - 1, 4, 1);
-        LocalDate leaveYearEnd = leaveYearStart.plusYears(1);
+        LocalDate leaveYearStart = AnnualLeaveCache.leaveYearStart(LocalDate.now());
+        return annualLeaveCache.get(employeeId, leaveYearStart, () -> calculateAnnualLeaveSummary(
+                employeeRepository.findById(employeeId)
+                        .orElseThrow(() -> new EntityNotFoundException("Employee not found")),
+                leaveYearStart));
+    }
+
+    @Transactional(readOnly = true)
+    public List<EmployeeAnnualLeaveResponse> getAnnualLeaveSummaries(Collection<Long> employeeIds) {
+        LocalDate leaveYearStart = AnnualLeaveCache.leaveYearStart(LocalDate.now());
+        YearMonth startMonth = YearMonth.from(leaveYearStart);
+        int startEpochMonth = AnnualLeaveAccrual.epochMonth(startMonth.getYear(), startMonth.getMonthValue());
+        Map<Long, Double> usedHours = leaveHoursService.sumHoursByEmployee(LeaveType.ANNUAL, startMonth,
+                startMonth.plusYears(1));
+        List<Employee> employees = employeeIds == null
+                ? employeeRepository.findAll(Sort.by("id"))
+                : employeeRepository.findAllById(employeeIds);
+        return employees.parallelStream()
+                .map(employee -> new EmployeeAnnualLeaveResponse(employee.getId(), employee.getChineseName(),
+                        employee.getEnglishName(), summarize(employee, startEpochMonth,
+                        usedHours.getOrDefault(employee.getId(), 0.0))))
+                .toList();
+    }
+
+    public AnnualLeaveSummary calculateAnnualLeaveSummary(Employee employee) {
+        return calculateAnnualLeaveSummary(employee, AnnualLeaveCache.leaveYearStart(LocalDate.now()));
+    }
+
+    public void invalidateAnnualLeave(Long employeeId) {
+        TransactionCallbacks.afterCommit(() -> annualLeaveCache.invalidate(employeeId));
+    }
 
-        double monthlyAccrual = 1.0 / 12.0;
-        double baseMonthlyAccrual = 10.0 / 12.0;
-        double baseQuotaAccumulated = 0;
-        double monthlyAccrualAccumulated = 0;
+    public LruCache.Stats annualLeaveCacheStats() {
+        return annualLeaveCache.stats();
+    }
 
+    private AnnualLeaveSummary calculateAnnualLeaveSummary(Employee employee, LocalDate leaveYearStart) {
         YearMonth startMonth = YearMonth.from(leaveYearStart);
-        YearMonth endMonth = YearMonth.from(leaveYearEnd.minusMonths(1));
-        YearMonth current = startMonth;
-        while (!current.isAfter(endMonth)) {
-            LocalDate monthStartDate = current.atDay(1);
-            if (!monthStartDate.isBefore(employee.getHireDate())) {
-                long monthsSinceHire = monthsBetween(employee.getHireDate(), monthStartDate);
-                if (monthsSinceHire >= 6 && baseQuotaAccumulated < 10.0) {
-                    double add = Math.min(10.0 - baseQuotaAccumulated, baseMonthlyAccrual);
-                    baseQuotaAccumulated += add;
-                }
-                monthlyAccrualAccumulated += monthlyAccrual;
-            }
-            current = current.plusMonths(1);
-        }
+        double usedHours = leaveHoursService.sumHours(employee.getId(), LeaveType.ANNUAL, startMonth,
+                startMonth.plusYears(1));
+        return summarize(employee, AnnualLeaveAccrual.epochMonth(startMonth.getYear(), startMonth.getMonthValue()),
+                usedHours);
+    }
 
-        double totalQuota = baseQuotaAccumulated + monthlyAccrualAccumulated;
-        LocalDateTime startDateTime = leaveYearStart.atStartOfDay();
-        LocalDateTime endDateTime = leaveYearEnd.atStartOfDay();
-        double usedHours = leaveRequestRepository.sumHoursByEmployeeAndTypeBetween(employeeId,
-                LeaveType.ANNUAL.name(),
-                startDateTime.toString(),
-                endDateTime.toString());
+    private AnnualLeaveSummary summarize(Employee employee, int leaveYearStart, double usedHours) {
+        LocalDate hireDate = employee.getHireDate();
+        double totalQuota = AnnualLeaveAccrual.totalQuotaDays(
+                AnnualLeaveAccrual.epochMonth(hireDate.getYear(), hireDate.getMonthValue()),
+                hireDate.getDayOfMonth(), leaveYearStart);
         double usedDays = usedHours / 8.0;
         double remaining = Math.max(0, totalQuota - usedDays);
         return new AnnualLeaveSummary(roundToTwo(totalQuota), roundToTwo(usedDays), roundToTwo(remaining));
     }
 
-    private long monthsBetween(LocalDate startInclusive, LocalDate endExclusive) {
-        YearMonth start = YearMonth.from(startInclusive.withDayOfMonth(1));
-        YearMonth end = YearMonth.from(endExclusive.withDayOfMonth(1));
-        return (end.getYear() - start.getYear()) * 12L + (end.getMonthValue() - start.getMonthValue());
-    }
-
     private double roundToTwo(double value) {
         return Math.round(value * 100.0) / 100.0;
     }
@@ -0,0 +1,89 @@
+package com.example.attendance.service;
+
+import com.example.attendance.entity.LeaveType;
+import com.example.attendance.repository.LeaveHoursMonthlyRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-employee, per-type, per-month leave hour totals. The tables are managed by Hibernate, so the triggers
+ * that keep the totals in step with every write to leave_requests and employees are created here on startup,
+ * and the totals are rebuilt from the rows at the same time.
+ */
+@Service
+@Transactional
+public class LeaveHoursService {
+    private static final String NEW_MONTH = month("NEW.start_time");
+    private static final String OLD_MONTH = month("OLD.start_time");
+    private static final String ADD_NEW_HOURS =
+            "INSERT INTO leave_hours_by_month (employee_id, type, month, hours) " +
+                    "VALUES (NEW.employee_id, NEW.type, " + NEW_MONTH + ", NEW.hours) " +
+                    "ON CONFLICT(employee_id, type, month) DO UPDATE SET hours = hours + excluded.hours; ";
+    private static final String SUBTRACT_OLD_HOURS =
+            "UPDATE leave_hours_by_month SET hours = hours - OLD.hours " +
+                    "WHERE employee_id = OLD.employee_id AND type = OLD.type AND month = " + OLD_MONTH + "; ";
+
+    private final LeaveHoursMonthlyRepository leaveHoursMonthlyRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public LeaveHoursService(LeaveHoursMonthlyRepository leaveHoursMonthlyRepository, JdbcTemplate jdbcTemplate) {
+        this.leaveHoursMonthlyRepository = leaveHoursMonthlyRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Transactional(readOnly = true)
+    public double sumHours(Long employeeId, LeaveType type, YearMonth from, YearMonth toExclusive) {
+        return leaveHoursMonthlyRepository.sumHours(employeeId, type.name(), from.toString(), toExclusive.toString());
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, Double> sumHoursByEmployee(LeaveType type, YearMonth from, YearMonth toExclusive) {
+        Map<Long, Double> hours = new HashMap<>();
+        for (Object[] row : leaveHoursMonthlyRepository.sumHoursByEmployee(type.name(), from.toString(),
+                toExclusive.toString())) {
+            hours.put(((Number) row[0]).longValue(), ((Number) row[1]).doubleValue());
+        }
+        return hours;
+    }
+
+    /**
+     * Recreates the triggers so their definitions follow this class, then rebuilds the totals so writes made
+     * while no triggers existed are counted.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void installTriggers() {
+        jdbcTemplate.execute("DROP TRIGGER IF EXISTS leave_requests_hours_insert");
+        jdbcTemplate.execute("DROP TRIGGER IF EXISTS leave_requests_hours_delete");
+        jdbcTemplate.execute("DROP TRIGGER IF EXISTS leave_requests_hours_update");
+        jdbcTemplate.execute("DROP TRIGGER IF EXISTS employees_hours_delete");
+        jdbcTemplate.execute("DELETE FROM leave_hours_by_month");
+        jdbcTemplate.execute("INSERT INTO leave_hours_by_month (employee_id, type, month, hours) " +
+                "SELECT lr.employee_id, lr.type, " + month("lr.start_time") + ", SUM(lr.hours) " +
+                "FROM leave_requests lr JOIN employees e ON e.id = lr.employee_id " +
+                "GROUP BY lr.employee_id, lr.type, " + month("lr.start_time"));
+        jdbcTemplate.execute("CREATE TRIGGER leave_requests_hours_insert AFTER INSERT ON leave_requests BEGIN " +
+                ADD_NEW_HOURS + "END");
+        jdbcTemplate.execute("CREATE TRIGGER leave_requests_hours_delete AFTER DELETE ON leave_requests BEGIN " +
+                SUBTRACT_OLD_HOURS + "END");
+        jdbcTemplate.execute("CREATE TRIGGER leave_requests_hours_update " +
+                "AFTER UPDATE OF employee_id, type, start_time, hours ON leave_requests BEGIN " +
+                SUBTRACT_OLD_HOURS + ADD_NEW_HOURS + "END");
+        jdbcTemplate.execute("CREATE TRIGGER employees_hours_delete AFTER DELETE ON employees BEGIN " +
+                "DELETE FROM leave_hours_by_month WHERE employee_id = OLD.id; END");
+    }
+
+    /**
+     * The yyyy-MM key of a start time, which Hibernate writes as epoch milliseconds; ISO text keeps its prefix.
+     */
+    private static String month(String column) {
+        return "(CASE typeof(" + column + ") WHEN 'integer' THEN strftime('%Y-%m', " + column +
+                " / 1000, 'unixepoch', 'localtime') ELSE substr(" + column + ", 1, 7) END)";
+    }
+}
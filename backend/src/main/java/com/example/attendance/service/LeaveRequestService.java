@@ -1,5 +1,8 @@
 package com.example.attendance.service;
 
+import com.example.attendance.FullTextQuery;
+import com.example.attendance.LeaveCursor;
+import com.example.attendance.LruCache;
 import com.example.attendance.dto.LeaveRequestRequest;
 import com.example.attendance.dto.LeaveRequestResponse;
 import com.example.attendance.dto.PageResponse;
@@ -9,28 +12,39 @@ import com.example.attendance.entity.LeaveType;
 import com.example.attendance.repository.EmployeeRepository;
 import com.example.attendance.repository.LeaveRequestRepository;
 import jakarta.persistence.EntityNotFoundException;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.time.YearMonth;
+import java.util.List;
 
 @Service
 @Transactional
 public class LeaveRequestService {
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "startTime", "id");
+    private static final int COUNT_CACHE_CAPACITY = 256;
+
     private final LeaveRequestRepository leaveRequestRepository;
     private final EmployeeRepository employeeRepository;
     private final EmployeeService employeeService;
+    private final WriteGeneration writeGeneration;
+    private final LeaveHoursService leaveHoursService;
+    private final LruCache<String, Long> totals = new LruCache<>(COUNT_CACHE_CAPACITY);
 
     public LeaveRequestService(LeaveRequestRepository leaveRequestRepository,
                                EmployeeRepository employeeRepository,
-                               EmployeeService employeeService) {
+                               EmployeeService employeeService,
+                               WriteGeneration writeGeneration,
+                               LeaveHoursService leaveHoursService) {
         this.leaveRequestRepository = leaveRequestRepository;
         this.employeeRepository = employeeRepository;
         this.employeeService = employeeService;
+        this.writeGeneration = writeGeneration;
+        this.leaveHoursService = leaveHoursService;
     }
 
     public LeaveRequestResponse create(LeaveRequestRequest request) {
@@ -59,38 +73,113 @@ public class LeaveRequestService {
         entity.setHours(request.getHours());
         entity.setType(type);
         LeaveRequest saved = leaveRequestRepository.save(entity);
+        if (type == LeaveType.ANNUAL) {
+            employeeService.invalidateAnnualLeave(employee.getId());
+        }
+        writeGeneration.advanceAfterCommit();
         return toResponse(saved);
     }
 
+    @Transactional(readOnly = true)
     public PageResponse<LeaveRequestResponse> search(String englishName, String type, LocalDateTime start,
-                                                     LocalDateTime end, int page, int size) {
+                                                     LocalDateTime end, int page, int size, String after,
+                                                     boolean withTotal, String q) {
         LeaveType leaveType = type != null ? parseType(type) : null;
-        Page<LeaveRequest> result = leaveRequestRepository.search(
-                englishName,
-                leaveType,
-                start,
-                end,
-                PageRequest.of(page, size)
-        );
-        return new PageResponse<>(result.map(this::toResponse).getContent(), result.getNumber(),
-                result.getSize(), result.getTotalElements());
+        if (q != null && !q.isBlank()) {
+            return textSearch(FullTextQuery.prefixTerms(q), englishName, leaveType, start, end, page, size, after,
+                    withTotal);
+        }
+        List<LeaveRequest> rows;
+        String nextCursor = null;
+        if (after != null) {
+            if (size < 1) {
+                throw new IllegalArgumentException("Page size must not be less than one");
+            }
+            LeaveCursor cursor = LeaveCursor.decode(after);
+            rows = leaveRequestRepository.searchAfter(englishName, leaveType, start, end,
+                    cursor.startTime(), cursor.id(), PageRequest.of(0, size + 1, NEWEST_FIRST));
+            if (rows.size() > size) {
+                rows = rows.subList(0, size);
+                nextCursor = cursorOf(rows.get(size - 1));
+            }
+        } else {
+            Slice<LeaveRequest> slice = leaveRequestRepository.search(
+                    englishName,
+                    leaveType,
+                    start,
+                    end,
+                    PageRequest.of(page, size, NEWEST_FIRST)
+            );
+            rows = slice.getContent();
+            if (slice.hasNext()) {
+                nextCursor = cursorOf(rows.get(rows.size() - 1));
+            }
+        }
+        Long total = withTotal ? countSearch(englishName, leaveType, start, end) : null;
+        return new PageResponse<>(rows.stream().map(this::toResponse).toList(), page, size, total, nextCursor);
+    }
+
+    private PageResponse<LeaveRequestResponse> textSearch(String match, String englishName, LeaveType type,
+                                                          LocalDateTime start, LocalDateTime end, int page, int size,
+                                                          String after, boolean withTotal) {
+        if (after != null) {
+            throw new IllegalArgumentException("Cursor paging is not supported with q");
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must not be less than one");
+        }
+        String typeName = type != null ? type.name() : null;
+        List<LeaveRequest> rows = leaveRequestRepository.textSearch(match, englishName, typeName, start, end, size,
+                (long) Math.max(page, 0) * size);
+        Long total = null;
+        if (withTotal) {
+            String key = writeGeneration.current() + ":q=" + match + "|"
+                    + (englishName != null ? englishName.toLowerCase() : "") + "|" + type + "|" + start + "|" + end;
+            total = totals.get(key);
+            if (total == null) {
+                total = leaveRequestRepository.countTextSearch(match, englishName, typeName, start, end);
+                totals.put(key, total);
+            }
+        }
+        return new PageResponse<>(rows.stream().map(this::toResponse).toList(), page, size, total, null);
+    }
+
+    public LruCache.Stats countCacheStats() {
+        return totals.stats();
+    }
+
+    private long countSearch(String englishName, LeaveType type, LocalDateTime start, LocalDateTime end) {
+        String key = writeGeneration.current() + ":" + (englishName != null ? englishName.toLowerCase() : "")
+                + "|" + type + "|" + start + "|" + end;
+        Long cached = totals.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        long total = leaveRequestRepository.countSearch(englishName, type, start, end);
+        totals.put(key, total);
+        return total;
     }
 
     public void delete(Long id) {
-        leaveRequestRepository.deleteById(id);
+        leaveRequestRepository.findById(id).ifPresent(request -> {
+            if (request.getType() == LeaveType.ANNUAL) {
+                employeeService.invalidateAnnualLeave(request.getEmployee().getId());
+            }
+            leaveRequestRepository.delete(request);
+            writeGeneration.advanceAfterCommit();
+        });
     }
 
     private void enforceSickLeaveQuota(Employee employee, LeaveRequestRequest request) {
-        LocalDate month = request.getStartTime().toLocalDate().withDayOfMonth(1);
-        String key = month.format(DateTimeFormatter.ofPattern("yyyy-MM"));
-        double used = leaveRequestRepository.sumHoursByEmployeeAndTypeAndMonth(employee.getId(), LeaveType.SICK.name(), key);
+        YearMonth month = YearMonth.from(request.getStartTime());
+        double used = leaveHoursService.sumHours(employee.getId(), LeaveType.SICK, month, month.plusMonths(1));
         if (used + request.getHours() > 8.0) {
             throw new IllegalArgumentException("Exceeds monthly sick leave quota (1 day)");
         }
     }
 
     private void enforceAnnualLeaveQuota(Employee employee, LeaveRequestRequest request) {
-        double remainingDays = employeeService.getAnnualLeaveSummary(employee.getId()).getRemainingDays();
+        double remainingDays = employeeService.calculateAnnualLeaveSummary(employee).getRemainingDays();
         double requestDays = request.getHours() / 8.0;
         if (requestDays > remainingDays + 1e-6) {
             throw new IllegalArgumentException("Insufficient annual leave quota");
@@ -105,6 +194,10 @@ public class LeaveRequestService {
         }
     }
 
+    private String cursorOf(LeaveRequest entity) {
+        return new LeaveCursor(entity.getStartTime(), entity.getId()).encode();
+    }
+
     private LeaveRequestResponse toResponse(LeaveRequest entity) {
         return new LeaveRequestResponse(entity.getId(), entity.getEmployee().getId(),
                 entity.getEmployee().getEnglishName(), entity.getStartTime(), entity.getEndTime(),
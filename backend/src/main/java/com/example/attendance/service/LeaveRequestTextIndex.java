@@ -0,0 +1,67 @@
+package com.example.attendance.service;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * FTS5 shadow index over leave requests. The tables are managed by Hibernate, so the index and the
+ * triggers that keep it in step with inserts, updates and deletes are created here on startup.
+ */
+@Component
+public class LeaveRequestTextIndex {
+    private static final String INDEX_NEW_TEXT =
+            "INSERT INTO leave_requests_fts (rowid, chinese_name, english_name, type, start_date, end_date) " +
+                    "SELECT NEW.id, e.chinese_name, e.english_name, NEW.type, " + date("NEW.start_time") + ", " +
+                    date("NEW.end_time") + " FROM employees e WHERE e.id = NEW.employee_id; ";
+    private static final String REMOVE_OLD_TEXT = "DELETE FROM leave_requests_fts WHERE rowid = OLD.id; ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LeaveRequestTextIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Recreates the triggers so their definitions follow this class, then reindexes every leave request so
+     * rows written by older definitions or while no triggers existed are searchable.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuild() {
+        jdbcTemplate.execute("CREATE VIRTUAL TABLE IF NOT EXISTS leave_requests_fts USING fts5(" +
+                "chinese_name, english_name, type, start_date, end_date, " +
+                "tokenize = 'unicode61 remove_diacritics 2')");
+        jdbcTemplate.execute("DROP TRIGGER IF EXISTS leave_requests_text_insert");
+        jdbcTemplate.execute("DROP TRIGGER IF EXISTS leave_requests_text_delete");
+        jdbcTemplate.execute("DROP TRIGGER IF EXISTS leave_requests_text_update");
+        jdbcTemplate.execute("DROP TRIGGER IF EXISTS employees_text_update");
+        jdbcTemplate.execute("DELETE FROM leave_requests_fts");
+        jdbcTemplate.execute("INSERT INTO leave_requests_fts " +
+                "(rowid, chinese_name, english_name, type, start_date, end_date) " +
+                "SELECT lr.id, e.chinese_name, e.english_name, lr.type, " + date("lr.start_time") + ", " +
+                date("lr.end_time") + " FROM leave_requests lr JOIN employees e ON e.id = lr.employee_id");
+        jdbcTemplate.execute("CREATE TRIGGER leave_requests_text_insert " +
+                "AFTER INSERT ON leave_requests BEGIN " + INDEX_NEW_TEXT + "END");
+        jdbcTemplate.execute("CREATE TRIGGER leave_requests_text_delete " +
+                "AFTER DELETE ON leave_requests BEGIN " + REMOVE_OLD_TEXT + "END");
+        jdbcTemplate.execute("CREATE TRIGGER leave_requests_text_update " +
+                "AFTER UPDATE OF employee_id, type, start_time, end_time ON leave_requests BEGIN " +
+                REMOVE_OLD_TEXT + INDEX_NEW_TEXT + "END");
+        jdbcTemplate.execute("CREATE TRIGGER employees_text_update " +
+                "AFTER UPDATE OF chinese_name, english_name ON employees BEGIN " +
+                "UPDATE leave_requests_fts SET chinese_name = NEW.chinese_name, english_name = NEW.english_name " +
+                "WHERE rowid IN (SELECT id FROM leave_requests WHERE employee_id = NEW.id); END");
+    }
+
+    /**
+     * Indexes the local calendar date, so a search for 2024-05-06 finds leave starting that day. The integer
+     * branch covers the millisecond timestamps Spring writes.
+     */
+    private static String date(String column) {
+        return "(CASE typeof(" + column + ") WHEN 'integer' THEN date(" + column +
+                " / 1000, 'unixepoch', 'localtime') ELSE substr(" + column + ", 1, 10) END)";
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.attendance.service;
+
+import com.example.attendance.EntityTags;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counter that moves forward whenever employee or leave data changes. Values derived from the database while the
+ * generation was {@code g} stay valid as long as {@link #current()} still returns {@code g}.
+ */
+@Component
+public class WriteGeneration {
+    private final AtomicLong generation = new AtomicLong();
+    private final EntityTags entityTags = new EntityTags(generation::get);
+
+    public long current() {
+        return generation.get();
+    }
+
+    public String entityTag(Object... parts) {
+        return entityTags.of(parts);
+    }
+
+    public void advanceAfterCommit() {
+        TransactionCallbacks.afterCommit(generation::incrementAndGet);
+    }
+}
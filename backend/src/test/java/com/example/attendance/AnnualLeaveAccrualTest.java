@@ -0,0 +1,64 @@
+package com.example.attendance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import org.junit.jupiter.api.Test;
+
+class AnnualLeaveAccrualTest {
+    @Test
+    void matchesTheMonthLoopForEveryHireDateAndLeaveYear() {
+        for (LocalDate day = LocalDate.of(1998, 1, 1); day.isBefore(LocalDate.of(2029, 1, 1)); day = day.plusDays(1)) {
+            LocalDate hireDate = day;
+            int hireMonth = AnnualLeaveAccrual.epochMonth(hireDate.getYear(), hireDate.getMonthValue());
+            for (int year = 1998; year <= 2030; year++) {
+                LocalDate leaveYearStart = LocalDate.of(year, 4, 1);
+                double expected = monthLoopQuotaDays(hireDate, leaveYearStart);
+                double actual = AnnualLeaveAccrual.totalQuotaDays(hireMonth, hireDate.getDayOfMonth(),
+                        AnnualLeaveAccrual.epochMonth(year, 4));
+                assertEquals(expected, actual, 1e-9, () -> hireDate + " in leave year " + leaveYearStart);
+                assertEquals(round(expected), round(actual), () -> hireDate + " in leave year " + leaveYearStart);
+            }
+        }
+    }
+
+    @Test
+    void leaveYearStartsInApril() {
+        for (LocalDate day = LocalDate.of(1965, 1, 1); day.isBefore(LocalDate.of(1975, 1, 1)); day = day.plusDays(1)) {
+            LocalDate date = day;
+            LocalDate expected = AnnualLeaveCache.leaveYearStart(date);
+            int month = AnnualLeaveAccrual.epochMonth(date.getYear(), date.getMonthValue());
+            assertEquals(AnnualLeaveAccrual.epochMonth(expected.getYear(), expected.getMonthValue()),
+                    AnnualLeaveAccrual.leaveYearStart(month), date::toString);
+        }
+    }
+
+    /**
+     * The month-by-month loop the services ran before {@link AnnualLeaveAccrual}.
+     */
+    private static double monthLoopQuotaDays(LocalDate hireDate, LocalDate leaveYearStart) {
+        double baseQuotaAccumulated = 0;
+        double monthlyAccrualAccumulated = 0;
+        YearMonth hireMonth = YearMonth.from(hireDate);
+        YearMonth current = YearMonth.from(leaveYearStart);
+        YearMonth end = YearMonth.from(leaveYearStart.plusYears(1));
+        while (current.isBefore(end)) {
+            if (!current.atDay(1).isBefore(hireDate)) {
+                long monthsSinceHire = (current.getYear() - hireMonth.getYear()) * 12L
+                        + current.getMonthValue() - hireMonth.getMonthValue();
+                if (monthsSinceHire >= 6 && baseQuotaAccumulated < 10.0) {
+                    baseQuotaAccumulated += Math.min(10.0 - baseQuotaAccumulated, 10.0 / 12.0);
+                }
+                monthlyAccrualAccumulated += 1.0 / 12.0;
+            }
+            current = current.plusMonths(1);
+        }
+        return baseQuotaAccumulated + monthlyAccrualAccumulated;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.attendance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DatabaseTest {
+    private static final Duration PROMPTLY = Duration.ofSeconds(5);
+
+    @TempDir
+    Path directory;
+
+    private Database database;
+
+    @BeforeEach
+    void setUp() {
+        database = new Database(directory.resolve("attendance.db"));
+        database.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.close();
+    }
+
+    @Test
+    void readsDoNotWaitForAnOpenWriteTransaction() throws Exception {
+        try (Connection writer = DriverManager.getConnection("jdbc:sqlite:" + directory.resolve("attendance.db"));
+             Statement statement = writer.createStatement()) {
+            statement.execute("BEGIN IMMEDIATE;");
+            statement.execute("INSERT INTO employee (chinese_name, english_name, hire_date) "
+                    + "VALUES ('张三', 'Zhang', '2024-01-01');");
+
+            assertEquals(0L, assertTimeoutPreemptively(PROMPTLY, this::employeeCount));
+
+            statement.execute("COMMIT;");
+        }
+        assertEquals(1L, employeeCount());
+    }
+
+    @Test
+    void insertReturnsTheIdGeneratedByTheWriter() {
+        long first = database.insert("INSERT INTO employee (chinese_name, english_name, hire_date) VALUES (?,?,?);",
+                "张三", "Zhang", LocalDate.of(2024, 1, 1));
+        long second = database.insert("INSERT INTO employee (chinese_name, english_name, hire_date) VALUES (?,?,?);",
+                "李四", "Li", LocalDate.of(2024, 1, 1));
+
+        assertEquals(first + 1, second);
+        assertEquals("Li", database.query("SELECT english_name FROM employee WHERE id=?;", second).get(0)
+                .get("english_name"));
+    }
+
+    @Test
+    void concurrentWritesShareCommits() throws Exception {
+        long writesBefore = database.writerStats().writes();
+        List<CompletableFuture<Long>> inserts = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            inserts.add(database.insertAsync("INSERT INTO employee (chinese_name, english_name, hire_date) "
+                    + "VALUES (?,?,?);", "员工" + i, "Employee" + i, LocalDate.of(2024, 1, 1)));
+        }
+        Set<Long> ids = new HashSet<>();
+        for (CompletableFuture<Long> insert : inserts) {
+            ids.add(insert.get(PROMPTLY.toSeconds(), TimeUnit.SECONDS));
+        }
+        assertEquals(200, ids.size());
+        assertEquals(200L, employeeCount());
+        Database.WriterStats stats = database.writerStats();
+        assertEquals(200L, stats.writes() - writesBefore);
+        assertTrue(stats.largestBatch() > 1, stats::toString);
+    }
+
+    @Test
+    void failedWriteDoesNotAffectTheRestOfItsGroup() throws Exception {
+        database.execute("INSERT INTO employee (chinese_name, english_name, hire_date) VALUES (?,?,?);",
+                "张三", "Zhang", LocalDate.of(2024, 1, 1));
+        CompletableFuture<Long> duplicate = database.insertAsync("INSERT INTO employee (chinese_name, english_name, "
+                + "hire_date) VALUES (?,?,?);", "张三", "Zhang", LocalDate.of(2024, 1, 1));
+        CompletableFuture<Long> other = database.insertAsync("INSERT INTO employee (chinese_name, english_name, "
+                + "hire_date) VALUES (?,?,?);", "李四", "Li", LocalDate.of(2024, 1, 1));
+        assertTrue(other.get(PROMPTLY.toSeconds(), TimeUnit.SECONDS) > 0);
+        assertThrows(ExecutionException.class, () -> duplicate.get(PROMPTLY.toSeconds(), TimeUnit.SECONDS));
+        assertEquals(2L, employeeCount());
+    }
+
+    @Test
+    void errorInsideTransactionRollsBackAndKeepsTheWriter() {
+        assertThrows(AssertionError.class, () -> database.inTransaction(tx -> {
+            tx.execute("INSERT INTO employee (chinese_name, english_name, hire_date) VALUES (?,?,?);",
+                    "张三", "Zhang", LocalDate.of(2024, 1, 1));
+            throw new AssertionError("boom");
+        }));
+        assertEquals(0L, employeeCount());
+        database.execute("INSERT INTO employee (chinese_name, english_name, hire_date) VALUES (?,?,?);",
+                "李四", "Li", LocalDate.of(2024, 1, 1));
+        assertEquals(1L, employeeCount());
+    }
+
+    @Test
+    void writesThroughTheDatabaseInsideATransactionAreRefused() {
+        assertTimeoutPreemptively(PROMPTLY, () -> assertThrows(IllegalStateException.class,
+                () -> database.inTransaction(tx -> {
+                    database.execute("DELETE FROM employee;");
+                    return null;
+                })));
+    }
+
+    @Test
+    void nestedQueriesWithTheSameSqlDoNotCloseEachOther() {
+        for (String name : List.of("Zhang", "Li", "Wang")) {
+            database.execute("INSERT INTO employee (chinese_name, english_name, hire_date) VALUES (?,?,?);",
+                    name, name, LocalDate.of(2024, 1, 1));
+        }
+        String sql = "SELECT id FROM employee ORDER BY id;";
+        List<Long> outer = new ArrayList<>();
+        long[] inner = new long[1];
+        database.inTransaction(tx -> {
+            tx.forEachRow(sql, row -> {
+                outer.add(row.getLong(1));
+                tx.forEachRow(sql, nested -> inner[0]++);
+            });
+            return null;
+        });
+
+        assertEquals(3, outer.size());
+        assertEquals(9L, inner[0]);
+        assertEquals(3, database.query(sql).size());
+    }
+
+    private long employeeCount() {
+        return Long.parseLong(database.query("SELECT COUNT(*) AS total FROM employee;").get(0).get("total"));
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.attendance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class HttpServerRunnerTest {
+    private static final Duration PROMPTLY = Duration.ofSeconds(10);
+
+    @TempDir
+    Path directory;
+
+    private Database database;
+    private TokenService tokenService;
+    private HttpServerRunner server;
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @BeforeEach
+    void setUp() {
+        database = new Database(directory.resolve("attendance.db"));
+        database.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.stop();
+        }
+        database.close();
+    }
+
+    @Test
+    void boundedModeRefusesMoreRequestsThanThreads() {
+        HttpServerRunner.Options defaults = HttpServerRunner.Options.defaults();
+        assertEquals(defaults.threads(), defaults.maxInFlight());
+        assertThrows(IllegalArgumentException.class, () -> options(HttpServerRunner.ExecutionMode.BOUNDED, 2, 3));
+        assertThrows(IllegalArgumentException.class, () -> options(HttpServerRunner.ExecutionMode.BOUNDED, 2, 0));
+        assertEquals(0, options(HttpServerRunner.ExecutionMode.CACHED, 2, 0).maxInFlight());
+    }
+
+    @Test
+    void floodedPoolAnswersServiceUnavailable() throws Exception {
+        start(options(HttpServerRunner.ExecutionMode.BOUNDED, 2, 2));
+        List<Socket> stalled = new ArrayList<>();
+        try {
+            for (int i = 0; i < 2; i++) {
+                stalled.add(stallLogin());
+            }
+            HttpResponse<String> busy = awaitStatus(status -> status == 503);
+            assertEquals("1", busy.headers().firstValue("Retry-After").orElse(null));
+        } finally {
+            for (Socket socket : stalled) {
+                socket.close();
+            }
+        }
+        assertEquals(401, awaitStatus(status -> status != 503).statusCode());
+    }
+
+    @Test
+    void compressedBodiesCarryTheirOwnEntityTag() throws Exception {
+        start(options(HttpServerRunner.ExecutionMode.CACHED, 2, 0));
+        HttpResponse<byte[]> identity = getEmployees(Map.of());
+        HttpResponse<byte[]> gzip = getEmployees(Map.of("Accept-Encoding", "gzip"));
+        assertEquals("gzip", gzip.headers().firstValue("Content-Encoding").orElse(null));
+        assertEquals("Accept-Encoding", gzip.headers().firstValue("Vary").orElse(null));
+        String identityTag = identity.headers().firstValue("ETag").orElseThrow();
+        String gzipTag = gzip.headers().firstValue("ETag").orElseThrow();
+        assertNotEquals(identityTag, gzipTag);
+        assertEquals(identityTag.substring(0, identityTag.length() - 1) + "-gzip\"", gzipTag);
+
+        HttpResponse<byte[]> revalidated = getEmployees(Map.of("Accept-Encoding", "gzip", "If-None-Match", gzipTag));
+        assertEquals(304, revalidated.statusCode());
+        assertEquals(gzipTag, revalidated.headers().firstValue("ETag").orElse(null));
+        assertEquals("Accept-Encoding", revalidated.headers().firstValue("Vary").orElse(null));
+        assertEquals(304, getEmployees(Map.of("If-None-Match", identityTag)).statusCode());
+    }
+
+    private void start(HttpServerRunner.Options options) throws IOException {
+        tokenService = TokenService.load(directory.resolve("secret.key"));
+        EmployeeService employeeService = new EmployeeService(database);
+        server = new HttpServerRunner(options, database, new AuthService(database, new PasswordHasher(), tokenService),
+                employeeService, new LeaveRequestService(database, employeeService));
+        server.start();
+    }
+
+    private static HttpServerRunner.Options options(HttpServerRunner.ExecutionMode mode, int threads,
+                                                    int maxInFlight) {
+        HttpServerRunner.Options defaults = HttpServerRunner.Options.defaults();
+        return new HttpServerRunner.Options(0, defaults.backlog(), mode, threads, maxInFlight,
+                defaults.retryAfterSeconds(), 0, defaults.compressionLevel(),
+                defaults.maxBodyBytes());
+    }
+
+    /**
+     * Opens a login request that announces a body and never sends it, so its handler holds a thread.
+     */
+    private Socket stallLogin() throws IOException {
+        Socket socket = new Socket("localhost", server.address().getPort());
+        OutputStream out = socket.getOutputStream();
+        out.write(("POST /api/auth/login HTTP/1.1\r\nHost: localhost\r\nContent-Type: application/json\r\n"
+                + "Content-Length: 64\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+        return socket;
+    }
+
+    private HttpResponse<byte[]> getEmployees(Map<String, String> headers) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + server.address().getPort() + "/api/employees"))
+                .header("Authorization", "Bearer " + tokenService.generateToken("admin", "ADMIN", 3600))
+                .timeout(PROMPTLY);
+        headers.forEach(request::header);
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private HttpResponse<String> awaitStatus(IntPredicate expected) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + server.address().getPort() + "/api/employees"))
+                .timeout(PROMPTLY)
+                .build();
+        long deadline = System.nanoTime() + PROMPTLY.toNanos();
+        int last;
+        do {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            last = response.statusCode();
+            if (expected.test(last)) {
+                return response;
+            }
+            Thread.sleep(20);
+        } while (System.nanoTime() < deadline);
+        return fail("Last status was " + last);
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.attendance;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class JsonTest {
+    @Test
+    void roundTripsNestedValues() {
+        Map<String, Object> nested = new LinkedHashMap<>();
+        nested.put("empty", List.of());
+        nested.put("nothing", null);
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("name", "张三 😀");
+        value.put("escapes", "quote\" backslash\\ slash/ \b\f\n\r\t \u0001 \u001F");
+        value.put("numbers", List.of(0L, -1L, Long.MAX_VALUE, Long.MIN_VALUE, 1.5, -0.25, 1.0E-7, 6.02E23));
+        value.put("flags", List.of(true, false));
+        value.put("nested", nested);
+        value.put("deep", List.of(List.of(Map.of("k", "v")), Map.of()));
+
+        assertEquals(value, Json.parseObject(Json.toJson(value)));
+    }
+
+    @Test
+    void readsEscapesAndUnicode() {
+        Map<String, Object> value = Json.parseObject(
+                "{ \"a\" : \"\\u4e2d\\ud83d\\ude00\\\"\\\\\\/\\n\" , \"b\":\"中文\", \"c\" : [ 1 , -2.5e1 , 3E+2 ] }");
+
+        assertEquals("中😀\"\\/\n", value.get("a"));
+        assertEquals("中文", value.get("b"));
+        assertEquals(List.of(1L, -25.0, 300.0), value.get("c"));
+    }
+
+    @Test
+    void readsNumbersBeyondLongAsDouble() {
+        assertEquals(1.0E19, Json.parseObject("{\"n\":10000000000000000000}").get("n"));
+        assertEquals(9007199254740993L, JsonReader.of("9007199254740993".getBytes(StandardCharsets.UTF_8))
+                .nextLong());
+        assertThrows(IllegalArgumentException.class,
+                () -> JsonReader.of("1.5".getBytes(StandardCharsets.UTF_8)).nextLong());
+    }
+
+    @Test
+    void writesDatesLikeToString() {
+        List<Object> dates = List.of(LocalDate.of(2026, 4, 1), LocalDate.of(-5, 12, 31), LocalDate.of(12026, 1, 9),
+                LocalDateTime.of(2026, 4, 1, 9, 0), LocalDateTime.of(2026, 4, 1, 9, 0, 7),
+                LocalDateTime.of(2026, 4, 1, 23, 59, 59, 120_000_000), LocalDateTime.of(2026, 4, 1, 0, 0, 0, 1_000),
+                LocalDateTime.of(2026, 4, 1, 0, 0, 0, 1));
+        for (Object date : dates) {
+            assertEquals("\"" + date + "\"", Json.toJson(date));
+        }
+    }
+
+    @Test
+    void smallBuffersProduceTheSameOutput() throws IOException {
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("text", "x".repeat(100) + "中文😀");
+        value.put("date", LocalDateTime.of(2026, 4, 1, 23, 59, 59, 123_456_789));
+        value.put("long", Long.MIN_VALUE);
+        byte[] expected = JsonWriter.toBytes(value);
+        for (int bufferSize : new int[] {1, 16, 33, 64}) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (JsonWriter writer = new JsonWriter(out, bufferSize)) {
+                writer.value(value);
+            }
+            assertArrayEquals(expected, out.toByteArray(), () -> "buffer size " + bufferSize);
+        }
+    }
+
+    @Test
+    void roundTripsRecords() throws IOException {
+        Sample sample = new Sample(42L, 7, 2.5, true, "李四 \"Li\"", LocalDate.of(2024, 2, 29),
+                LocalDateTime.of(2026, 4, 1, 9, 30), Kind.SICK, new Inner("nested", List.of(1L, 2L)));
+        RecordCodec<Sample> codec = RecordCodec.of(Sample.class);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonWriter writer = new JsonWriter(out)) {
+            codec.write(writer, sample);
+        }
+
+        assertEquals(sample, codec.read(JsonReader.of(out.toByteArray())));
+        assertEquals(sample, JsonReader.of(JsonWriter.toBytes(sample)).readDocument(Sample.class));
+    }
+
+    @Test
+    void readsRecordsLeniently() {
+        Sample sample = JsonReader.of(("{\"id\":\"5\",\"unknown\":{\"x\":[1]},\"kind\":\"annual\",\"flag\":null,"
+                + "\"date\":\" 2024-01-02 \"}").getBytes(StandardCharsets.UTF_8)).readDocument(Sample.class);
+
+        assertEquals(new Sample(5L, 0, 0, false, null, LocalDate.of(2024, 1, 2), null, Kind.ANNUAL, null), sample);
+        assertEquals(new Sample(0L, 0, 0, false, null, null, null, null, null),
+                JsonReader.of(new byte[0]).readDocument(Sample.class));
+    }
+
+    @Test
+    void rejectsInvalidRecordValues() {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> JsonReader.of("{\"date\":\"yesterday\"}".getBytes(StandardCharsets.UTF_8))
+                        .readDocument(Sample.class));
+        assertEquals("Invalid value for date", error.getMessage());
+    }
+
+    @Test
+    void rejectsMalformedDocuments() {
+        for (String json : List.of("{\"a\":1,}", "{\"a\" 1}", "{\"a\":1} x", "{\"a\":\"open", "[1 2]", "{\"a\":-}",
+                "{\"a\":tru}", "{\"a\":\"\\x\"}")) {
+            assertThrows(IllegalArgumentException.class, () -> Json.parseObject(json), json);
+        }
+    }
+
+    @Test
+    void rejectsBodiesOverTheLimit() {
+        byte[] body = ("{\"text\":\"" + "x".repeat(100) + "\"}").getBytes(StandardCharsets.UTF_8);
+        JsonReader limited = new JsonReader(new ByteArrayInputStream(body), 64);
+        assertThrows(JsonReader.BodyTooLargeException.class, limited::readDocumentObject);
+
+        JsonReader exact = new JsonReader(new ByteArrayInputStream(body), body.length);
+        assertEquals("x".repeat(100), exact.readDocumentObject().get("text"));
+    }
+
+    @Test
+    void readsAcrossBufferBoundaries() {
+        char[] text = new char[20_000];
+        Arrays.fill(text, '中');
+        byte[] body = ("{\"text\":\"" + new String(text) + "\"}").getBytes(StandardCharsets.UTF_8);
+        JsonReader reader = new JsonReader(new ByteArrayInputStream(body), Long.MAX_VALUE);
+
+        assertEquals(new String(text), reader.readDocumentObject().get("text"));
+    }
+
+    enum Kind {
+        ANNUAL,
+        SICK
+    }
+
+    record Inner(String label, List<Object> values) {
+    }
+
+    record Sample(long id, int count, double hours, boolean flag, String name, LocalDate date, LocalDateTime at,
+                  Kind kind, Inner inner) {
+    }
+}
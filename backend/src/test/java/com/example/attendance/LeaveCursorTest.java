@@ -0,0 +1,88 @@
+package com.example.attendance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LeaveCursorTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTrips() {
+        for (LeaveCursor cursor : List.of(new LeaveCursor(LocalDateTime.of(2026, 4, 1, 9, 0), 1),
+                new LeaveCursor(LocalDateTime.of(2026, 4, 1, 9, 0, 30, 500_000_000), Long.MAX_VALUE),
+                new LeaveCursor(LocalDateTime.of(1999, 12, 31, 23, 59, 59), 0))) {
+            String encoded = cursor.encode();
+            assertTrue(encoded.matches("[A-Za-z0-9_-]+"), encoded);
+            assertEquals(cursor, LeaveCursor.decode(encoded));
+        }
+    }
+
+    @Test
+    void rejectsInvalidCursors() {
+        for (String cursor : List.of("", "not base64!", encode("2026-04-01T09:00"), encode("2026-04-01T09:00|x"),
+                encode("yesterday|1"), encode("|1"), encode("2026-04-01T09:00|"))) {
+            IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                    () -> LeaveCursor.decode(cursor), cursor);
+            assertEquals("Invalid cursor", error.getMessage());
+        }
+    }
+
+    @Test
+    void pagesThroughTiesWithoutSkippingOrRepeating() {
+        try (Database database = new Database(directory.resolve("attendance.db"))) {
+            database.initialize();
+            database.inTransaction(tx -> {
+                tx.execute("INSERT INTO employee (chinese_name, english_name, hire_date) VALUES (?,?,?);",
+                        "张三", "Zhang", LocalDate.of(2020, 1, 1));
+                for (int i = 0; i < 30; i++) {
+                    LocalDateTime start = LocalDateTime.of(2026, 4, 1 + i / 4, 9, 0);
+                    tx.execute("INSERT INTO leave_request (employee_id, type, start_time, end_time, hours, "
+                            + "created_at) VALUES (?,?,?,?,?,?);", 1, "PERSONAL", start, start.plusHours(1), 1.0,
+                            start);
+                }
+                return null;
+            });
+            LeaveRequestService service = new LeaveRequestService(database, new EmployeeService(database));
+
+            List<Long> offsetOrder = new ArrayList<>();
+            for (LeaveRequestService.LeaveRequestItem item : service.listLeaveRequests(
+                    new HashMap<>(Map.of("size", "100"))).content()) {
+                offsetOrder.add(item.id());
+            }
+            List<Long> cursorOrder = new ArrayList<>();
+            Map<String, String> filters = new HashMap<>(Map.of("size", "7", "withTotal", "false"));
+            LeaveRequestService.PagedResult page;
+            do {
+                page = service.listLeaveRequests(new HashMap<>(filters));
+                assertNull(page.totalElements());
+                assertFalse(page.content().isEmpty());
+                page.content().forEach(item -> cursorOrder.add(item.id()));
+                filters.put("after", page.nextCursor());
+            } while (page.nextCursor() != null);
+
+            assertEquals(30, offsetOrder.size());
+            assertEquals(offsetOrder, cursorOrder);
+        }
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
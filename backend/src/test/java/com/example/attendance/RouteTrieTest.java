@@ -0,0 +1,82 @@
+package com.example.attendance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RouteTrieTest {
+    private RouteTrie<String> routes;
+
+    @BeforeEach
+    void setUp() {
+        routes = new RouteTrie<>();
+        routes.add("GET", "/api/employees", "list");
+        routes.add("POST", "/api/employees", "create");
+        routes.add("GET", "/api/employees/search", "search");
+        routes.add("GET", "/api/employees/{id:long}", "employee");
+        routes.add("GET", "/api/employees/{id:long}/annual-leave", "balance");
+        routes.add("GET", "/api/employees/{name}/profile", "profile");
+        routes.add("GET", "/api/files/{folder}/{file}", "file");
+        routes.add("GET", "/api/files/shared/readme", "readme");
+    }
+
+    @Test
+    void matchesLiteralRoutesPerMethod() {
+        assertEquals("list", routes.find("GET", "/api/employees").value());
+        assertEquals("create", routes.find("POST", "/api/employees").value());
+        assertEquals("list", routes.find("GET", "/api/employees/").value());
+    }
+
+    @Test
+    void prefersLiteralSegmentsOverParameters() {
+        assertEquals("search", routes.find("GET", "/api/employees/search").value());
+        assertEquals("readme", routes.find("GET", "/api/files/shared/readme").value());
+    }
+
+    @Test
+    void capturesTypedParameters() {
+        RouteTrie.Match<String> match = routes.find("GET", "/api/employees/42/annual-leave");
+        assertEquals("balance", match.value());
+        assertEquals("42", match.params().get("id"));
+        assertEquals(42L, match.params().getLong("id"));
+        assertThrows(IllegalArgumentException.class, () -> match.params().get("name"));
+    }
+
+    @Test
+    void fallsBackToStringParametersWhenTheSegmentIsNotNumeric() {
+        assertNull(routes.find("GET", "/api/employees/abc"));
+        assertNull(routes.find("GET", "/api/employees/12345678901234567890"));
+        RouteTrie.Match<String> match = routes.find("GET", "/api/employees/zhang/profile");
+        assertEquals("profile", match.value());
+        assertEquals("zhang", match.params().get("name"));
+    }
+
+    @Test
+    void backtracksFromALiteralThatLeadsNowhere() {
+        RouteTrie.Match<String> match = routes.find("GET", "/api/files/shared/notes");
+        assertEquals("file", match.value());
+        assertEquals("shared", match.params().get("folder"));
+        assertEquals("notes", match.params().get("file"));
+    }
+
+    @Test
+    void returnsNullWhenNothingMatches() {
+        assertNull(routes.find("DELETE", "/api/employees"));
+        assertNull(routes.find("PUT", "/api/employees/42"));
+        assertNull(routes.find("GET", "/api/employee"));
+        assertNull(routes.find("GET", "/api/employees/42/annual-leave/2026"));
+        assertNull(routes.find("GET", "/api"));
+        assertNull(routes.find("GET", "/api//employees"));
+        assertNull(routes.find("GET", "api/employees"));
+        assertNull(routes.find("GET", ""));
+    }
+
+    @Test
+    void rejectsDuplicateAndUnknownPatterns() {
+        assertThrows(IllegalArgumentException.class, () -> routes.add("get", "/api/employees/{other:long}", "dup"));
+        assertThrows(IllegalArgumentException.class, () -> routes.add("GET", "/api/{id:uuid}", "uuid"));
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.attendance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SchemaMigrationsTest {
+    private static final String LISTING = "SELECT lr.id, e.chinese_name, e.english_name, lr.type, lr.start_time, "
+            + "lr.end_time, lr.hours, lr.created_at FROM leave_request lr JOIN employee e ON lr.employee_id = e.id ";
+
+    @TempDir
+    Path directory;
+
+    private Database database;
+
+    @BeforeEach
+    void setUp() {
+        database = new Database(directory.resolve("attendance.db"));
+        database.initialize();
+        LocalDateTime start = LocalDateTime.of(2026, 4, 1, 9, 0);
+        List<CompletableFuture<Long>> writes = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            writes.add(database.insertAsync("INSERT INTO employee (chinese_name, english_name, hire_date) "
+                    + "VALUES (?,?,?);", "员工" + i, "Employee" + i, LocalDate.of(2020, 1, 1).plusDays(i)));
+            for (int j = 0; j < 5; j++) {
+                LocalDateTime from = start.plusDays(i + j * 31L);
+                writes.add(database.insertAsync("INSERT INTO leave_request (employee_id, type, start_time, end_time, "
+                        + "hours, created_at) VALUES (?,?,?,?,?,?);", i + 1, j % 2 == 0 ? "ANNUAL" : "SICK", from,
+                        from.plusHours(8), 8.0, start));
+            }
+        }
+        writes.forEach(CompletableFuture::join);
+        database.execute("ANALYZE;");
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.close();
+    }
+
+    @Test
+    void recordsEveryMigrationOnce() {
+        long applied = database.queryFirst("SELECT COUNT(*) FROM schema_version;", row -> row.getLong(1)).orElse(0L);
+        new SchemaMigrations(database).migrate();
+        assertEquals(applied, database.queryFirst("SELECT COUNT(*) FROM schema_version;", row -> row.getLong(1))
+                .orElse(0L));
+    }
+
+    @Test
+    void firstListingPageWalksTheStartTimeIndex() {
+        String plan = plan(LISTING + "WHERE 1=1 ORDER BY lr.start_time DESC, lr.id DESC LIMIT ? OFFSET ?;", 21, 0);
+        assertUsesIndex(plan, "lr", "idx_leave_request_start_time");
+        assertFalse(plan.contains("TEMP B-TREE"), plan);
+    }
+
+    @Test
+    void cursorPageSeeksTheStartTimeIndex() {
+        LocalDateTime after = LocalDateTime.of(2026, 6, 1, 9, 0);
+        String plan = plan(LISTING + "WHERE 1=1 AND lr.start_time <= ? AND (lr.start_time < ? OR lr.id < ?) "
+                + "ORDER BY lr.start_time DESC, lr.id DESC LIMIT ? OFFSET ?;", after, after, 500, 21, 0);
+        assertTrue(plan.contains("SEARCH lr USING INDEX idx_leave_request_start_time"), plan);
+    }
+
+    @Test
+    void englishNameFilterUsesTheExpressionIndex() {
+        String plan = plan(LISTING + "WHERE 1=1 AND LOWER(e.english_name)=? "
+                + "ORDER BY lr.start_time DESC, lr.id DESC LIMIT ? OFFSET ?;", "employee7", 21, 0);
+        assertUsesIndex(plan, "e", "idx_employee_english_name_lower");
+        assertUsesIndex(plan, "lr", "idx_leave_request_employee_type_start");
+    }
+
+    @Test
+    void overlappingLeaveLookupSeeksByEmployeeAndType() {
+        LocalDateTime from = LocalDateTime.of(2026, 5, 4, 9, 0);
+        String plan = plan("SELECT id FROM leave_request WHERE employee_id=? AND type=? AND start_time < ? "
+                + "AND end_time > ?;", 7, "ANNUAL", from.plusHours(8), from);
+        assertUsesIndex(plan, "leave_request", "idx_leave_request_employee_type_start");
+    }
+
+    @Test
+    void monthlyQuotaSumSeeksThePrimaryKey() {
+        String plan = plan("SELECT IFNULL(SUM(hours),0) AS total FROM leave_hours_monthly "
+                + "WHERE employee_id=? AND type=? AND month >= ? AND month < ?;", 7, "SICK", "2026-04", "2026-05");
+        assertTrue(plan.contains("SEARCH leave_hours_monthly USING PRIMARY KEY"), plan);
+    }
+
+    private String plan(String sql, Object... params) {
+        List<Map<String, String>> rows = database.query("EXPLAIN QUERY PLAN " + sql, params);
+        return rows.stream().map(row -> row.get("detail")).collect(Collectors.joining("\n"));
+    }
+
+    private static void assertUsesIndex(String plan, String table, String index) {
+        assertTrue(plan.lines().anyMatch(line -> line.matches("(SCAN|SEARCH) " + table + " USING (COVERING )?INDEX "
+                + index + "\\b.*")), plan);
+        assertFalse(plan.lines().anyMatch(line -> line.equals("SCAN " + table)), plan);
+    }
+}
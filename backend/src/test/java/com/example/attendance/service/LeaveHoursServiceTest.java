@@ -0,0 +1,102 @@
+package com.example.attendance.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.example.attendance.entity.Employee;
+import com.example.attendance.entity.LeaveRequest;
+import com.example.attendance.entity.LeaveType;
+import com.example.attendance.repository.EmployeeRepository;
+import com.example.attendance.repository.LeaveRequestRepository;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+@SpringBootTest
+class LeaveHoursServiceTest {
+    private static final YearMonth MAY = YearMonth.of(2024, 5);
+    private static final YearMonth JUNE = YearMonth.of(2024, 6);
+
+    @TempDir
+    static Path directory;
+
+    @Autowired
+    private LeaveHoursService leaveHoursService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + directory.resolve("attendance.db"));
+    }
+
+    @Test
+    void totalsFollowEveryWriteToLeaveRequests() {
+        Employee employee = employee("Zhang");
+        LeaveRequest request = leaveRequestRepository.save(sickLeave(employee, LocalDateTime.of(2024, 5, 6, 9, 0)));
+        assertEquals(8.0, hours(employee, MAY));
+
+        request.setStartTime(LocalDateTime.of(2024, 6, 3, 9, 0));
+        request.setEndTime(LocalDateTime.of(2024, 6, 3, 17, 0));
+        request = leaveRequestRepository.save(request);
+        assertEquals(0.0, hours(employee, MAY));
+        assertEquals(8.0, hours(employee, JUNE));
+
+        jdbcTemplate.update("UPDATE leave_requests SET hours = 4 WHERE id = ?", request.getId());
+        assertEquals(4.0, hours(employee, JUNE));
+
+        leaveRequestRepository.deleteById(request.getId());
+        assertEquals(0.0, hours(employee, JUNE));
+    }
+
+    @Test
+    void startupRebuildCountsWritesMadeWithoutTheTriggers() {
+        Employee employee = employee("Li");
+        jdbcTemplate.execute("DROP TRIGGER leave_requests_hours_insert");
+        leaveRequestRepository.save(sickLeave(employee, LocalDateTime.of(2024, 5, 6, 9, 0)));
+        assertEquals(0.0, hours(employee, MAY));
+
+        leaveHoursService.installTriggers();
+        assertEquals(8.0, hours(employee, MAY));
+        leaveRequestRepository.save(sickLeave(employee, LocalDateTime.of(2024, 5, 7, 9, 0)));
+        assertEquals(16.0, hours(employee, MAY));
+    }
+
+    private Employee employee(String englishName) {
+        Employee employee = new Employee();
+        employee.setChineseName("员工");
+        employee.setEnglishName(englishName);
+        employee.setHireDate(LocalDate.of(2020, 1, 1));
+        return employeeRepository.save(employee);
+    }
+
+    private static LeaveRequest sickLeave(Employee employee, LocalDateTime start) {
+        LeaveRequest request = new LeaveRequest();
+        request.setEmployee(employee);
+        request.setType(LeaveType.SICK);
+        request.setStartTime(start);
+        request.setEndTime(start.plusHours(8));
+        request.setHours(8.0);
+        return request;
+    }
+
+    private double hours(Employee employee, YearMonth month) {
+        return leaveHoursService.sumHours(employee.getId(), LeaveType.SICK, month, month.plusMonths(1));
+    }
+}
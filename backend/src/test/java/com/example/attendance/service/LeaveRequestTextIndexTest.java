@@ -0,0 +1,95 @@
+package com.example.attendance.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.example.attendance.dto.LeaveRequestResponse;
+import com.example.attendance.dto.PageResponse;
+import com.example.attendance.entity.Employee;
+import com.example.attendance.entity.LeaveRequest;
+import com.example.attendance.entity.LeaveType;
+import com.example.attendance.repository.EmployeeRepository;
+import com.example.attendance.repository.LeaveRequestRepository;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+@SpringBootTest
+class LeaveRequestTextIndexTest {
+    @TempDir
+    static Path directory;
+
+    @Autowired
+    private LeaveRequestService leaveRequestService;
+
+    @Autowired
+    private LeaveRequestTextIndex leaveRequestTextIndex;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + directory.resolve("attendance.db"));
+    }
+
+    @Test
+    void findsLeaveByItsStartDate() {
+        Employee employee = employee("Zhang");
+        LeaveRequest may = leaveRequestRepository.save(leave(employee, LocalDateTime.of(2024, 5, 6, 9, 0)));
+        leaveRequestRepository.save(leave(employee, LocalDateTime.of(2024, 6, 6, 9, 0)));
+
+        assertEquals(List.of(may.getId()), search("2024-05-06"));
+        assertEquals(List.of(may.getId()), search("zhang 2024-05"));
+    }
+
+    @Test
+    void rebuildReindexesRowsWrittenWithoutTheTriggers() {
+        Employee employee = employee("Li");
+        jdbcTemplate.execute("DROP TRIGGER leave_requests_text_insert");
+        LeaveRequest request = leaveRequestRepository.save(leave(employee, LocalDateTime.of(2024, 7, 1, 9, 0)));
+        assertEquals(List.of(), search("2024-07-01"));
+
+        leaveRequestTextIndex.rebuild();
+        assertEquals(List.of(request.getId()), search("2024-07-01"));
+    }
+
+    private Employee employee(String englishName) {
+        Employee employee = new Employee();
+        employee.setChineseName("员工");
+        employee.setEnglishName(englishName);
+        employee.setHireDate(LocalDate.of(2020, 1, 1));
+        return employeeRepository.save(employee);
+    }
+
+    private static LeaveRequest leave(Employee employee, LocalDateTime start) {
+        LeaveRequest request = new LeaveRequest();
+        request.setEmployee(employee);
+        request.setType(LeaveType.PERSONAL);
+        request.setStartTime(start);
+        request.setEndTime(start.plusHours(8));
+        request.setHours(8.0);
+        return request;
+    }
+
+    private List<Long> search(String q) {
+        PageResponse<LeaveRequestResponse> page = leaveRequestService.search(null, null, null, null, 0, 20, null,
+                false, q);
+        return page.getContent().stream().map(LeaveRequestResponse::getId).toList();
+    }
+}